@@ -0,0 +1,188 @@
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * Micro-benchmarks for the hot database paths: current stock, the four
+ * ReportPanel reports and the ProductPanel listing query.
+ *
+ * Runs against the database DBUtils points at, so load it with the volume you
+ * want to measure first (see LedgerGenerator). Each benchmark is warmed up,
+ * then timed per operation; the median of every run can be saved and later
+ * compared to catch regressions:
+ *
+ *   java Benchmarks [--iterations N] [--warmup N] [--save file] [--compare file]
+ *
+ * With --compare the run fails (exit 1) when a median is more than
+ * -Dcloudkitchen.bench.tolerance percent (default 25) slower than the saved one.
+ */
+public class Benchmarks {
+
+    private interface Op {
+        void run() throws SQLException;
+    }
+
+    private static final double TOLERANCE = Integer.getInteger("cloudkitchen.bench.tolerance", 25) / 100.0;
+
+    private final Map<String, Op> benchmarks = new LinkedHashMap<>();
+    private final Random random = new Random(42);
+
+    public static void main(String[] args) throws SQLException, IOException {
+        int iterations = 50;
+        int warmup = 10;
+        String saveFile = null;
+        String compareFile = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--iterations" -> iterations = Integer.parseInt(args[++i]);
+                case "--warmup" -> warmup = Integer.parseInt(args[++i]);
+                case "--save" -> saveFile = args[++i];
+                case "--compare" -> compareFile = args[++i];
+                default -> {
+                    System.err.println("Usage: java Benchmarks [--iterations N] [--warmup N] [--save file] [--compare file]");
+                    System.exit(2);
+                }
+            }
+        }
+
+        Benchmarks bench = new Benchmarks();
+        bench.setUp();
+
+        Properties medians = new Properties();
+        System.out.printf("%-28s %10s %10s %10s %10s%n", "Benchmark", "mean ms", "p50 ms", "p95 ms", "max ms");
+        for (Map.Entry<String, Op> entry : bench.benchmarks.entrySet()) {
+            double[] times = measure(entry.getValue(), warmup, iterations);
+            System.out.printf("%-28s %10.2f %10.2f %10.2f %10.2f%n", entry.getKey(),
+                    Arrays.stream(times).average().orElse(0), percentile(times, 50),
+                    percentile(times, 95), times[times.length - 1]);
+            medians.setProperty(entry.getKey(), String.valueOf(percentile(times, 50)));
+        }
+
+        if (saveFile != null) {
+            try (FileOutputStream out = new FileOutputStream(saveFile)) {
+                medians.store(out, "Benchmark medians (ms)");
+            }
+        }
+        if (compareFile != null && !compare(medians, compareFile)) {
+            System.exit(1);
+        }
+    }
+
+    // ===== SETUP =====
+    private void setUp() throws SQLException {
+        List<Integer> productIds = new ArrayList<>();
+        long movements;
+        Date latest;
+        try (Connection conn = DBUtils.getConn(); Statement st = conn.createStatement()) {
+            try (ResultSet rs = st.executeQuery("SELECT product_id FROM Product")) {
+                while (rs.next()) productIds.add(rs.getInt(1));
+            }
+            try (ResultSet rs = st.executeQuery("SELECT COUNT(*), MAX(movement_date) FROM StockMovement")) {
+                rs.next();
+                movements = rs.getLong(1);
+                latest = rs.getDate(2);
+            }
+        }
+        if (productIds.isEmpty()) {
+            throw new SQLException("No products to benchmark against; load a dataset first");
+        }
+
+        // Benchmark the month with the most recent activity
+        LocalDate month = latest != null ? latest.toLocalDate() : LocalDate.now();
+        int year = month.getYear();
+        int monthValue = month.getMonthValue();
+        System.out.printf("Dataset: %d products, %d movements, reports for %d-%02d%n%n",
+                productIds.size(), movements, year, monthValue);
+
+        benchmarks.put("Current stock", () -> {
+            int productId = productIds.get(random.nextInt(productIds.size()));
+            try (Connection conn = DBUtils.getConn()) {
+                StockLedger.getCurrentStock(conn, productId);
+            }
+        });
+        ReportQueries.Period period = ReportQueries.Period.month(year, monthValue);
+        benchmarks.put("Inventory report", () -> runQuery(ReportQueries.INVENTORY, ReportQueries.inventoryParams(period)));
+        benchmarks.put("Stock movement report", () -> runQuery(ReportQueries.STOCK_MOVEMENT, ReportQueries.rangeParams(period)));
+        benchmarks.put("Supplier delivery report", () -> runQuery(ReportQueries.SUPPLIER_DELIVERY, ReportQueries.rangeParams(period)));
+        benchmarks.put("Sales report", () -> runQuery(ReportQueries.SALES, ReportQueries.rangeParams(period)));
+
+        // Twelve months ending with the benchmark month, with partial months at both ends
+        ReportQueries.Period year12 = ReportQueries.Period.custom(period.to.minusMonths(12).plusDays(14), period.to.minusDays(15));
+        benchmarks.put("Sales report (12 months)", () -> runQuery(ReportQueries.SALES, ReportQueries.rangeParams(year12)));
+
+        // The queries behind ProductPanel.applyFilters
+        benchmarks.put("Product list (no filter)", () ->
+                ProductPanel.fetchProductPage(new ProductPanel.ProductFilter("", "All", "All", false), null));
+        benchmarks.put("Product list (search)", () ->
+                ProductPanel.fetchProductPage(new ProductPanel.ProductFilter("chi", "All", "All", false), null));
+        benchmarks.put("Product list (low stock)", () ->
+                ProductPanel.fetchProductPage(new ProductPanel.ProductFilter("", "All", "All", true), null));
+    }
+
+    // Execute a report and read every row, as ReportPanel does
+    private static void runQuery(String sql, Object... params) throws SQLException {
+        try (Connection conn = DBUtils.getConn(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                ps.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                int columns = rs.getMetaData().getColumnCount();
+                while (rs.next()) {
+                    for (int c = 1; c <= columns; c++) rs.getObject(c);
+                }
+            }
+        }
+    }
+
+    // ===== MEASUREMENT =====
+    // Sorted per-operation times in milliseconds
+    private static double[] measure(Op op, int warmup, int iterations) throws SQLException {
+        for (int i = 0; i < warmup; i++) {
+            op.run();
+        }
+        double[] times = new double[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            op.run();
+            times[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(times);
+        return times;
+    }
+
+    private static double percentile(double[] sorted, int p) {
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static boolean compare(Properties current, String baselineFile) throws IOException {
+        Properties baseline = new Properties();
+        try (FileInputStream in = new FileInputStream(baselineFile)) {
+            baseline.load(in);
+        }
+
+        boolean ok = true;
+        System.out.println();
+        for (String name : current.stringPropertyNames()) {
+            String saved = baseline.getProperty(name);
+            if (saved == null) continue;
+            double before = Double.parseDouble(saved);
+            double now = Double.parseDouble(current.getProperty(name));
+            if (now > before * (1 + TOLERANCE)) {
+                ok = false;
+                System.out.printf("REGRESSION  %s: %.2f ms -> %.2f ms%n", name, before, now);
+            }
+        }
+        System.out.println(ok ? "No regressions against " + baselineFile : "Benchmarks regressed.");
+        return ok;
+    }
+}
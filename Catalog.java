@@ -0,0 +1,303 @@
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * In-memory copy of the reference data: every supplier, storage location and
+ * product, indexed by id.
+ *
+ * The three tables are read once, on first use from a loader thread; after
+ * that the combos, filters and card labels of every panel are filled from
+ * here without a query. The data is held in an immutable Snapshot that is
+ * replaced, never modified, so a loader thread can read one while the EDT
+ * applies an edit. Each change gets a new version number.
+ *
+ * Panels keep the catalog current after their own writes: supplierChanged /
+ * locationChanged / productChanged re-read just the written row on the
+ * caller's connection (a delete simply drops it), so an edit costs one
+ * primary key lookup instead of reloading the lists. They return the row as
+ * it was, for the ChangeBus event the panel then publishes. Edits made on
+ * another terminal are only seen after reload(), run by the main window's
+ * Refresh.
+ */
+public class Catalog {
+
+    public static class Supplier {
+        public final int id;
+        public final String name;
+        public final String contactPerson;
+        public final String contactNumber;
+        public final String email;
+        public final String address;
+        public final String status;
+
+        Supplier(ResultSet rs) throws SQLException {
+            id = rs.getInt("supplier_id");
+            name = rs.getString("supplier_name");
+            contactPerson = rs.getString("contact_person");
+            contactNumber = rs.getString("contact_number");
+            email = rs.getString("email");
+            address = rs.getString("address");
+            status = rs.getString("supplier_status");
+        }
+    }
+
+    public static class Location {
+        public final int id;
+        public final String name;
+        public final String areaDescription;
+        public final BigDecimal capacity;
+        public final String temperatureControl;
+
+        Location(ResultSet rs) throws SQLException {
+            id = rs.getInt("location_id");
+            name = rs.getString("location_name");
+            areaDescription = rs.getString("area_description");
+            capacity = rs.getBigDecimal("capacity");
+            temperatureControl = rs.getString("temperature_control");
+        }
+    }
+
+    public static class Product {
+        public final int id;
+        public final String name;
+        public final String description;
+        public final String category;
+        public final String uom;
+        public final BigDecimal reorderLevel;
+        public final int supplierId;   // 0 when the product has no supplier
+        public final int locationId;   // 0 when the product has no location
+        public final String status;
+
+        Product(ResultSet rs) throws SQLException {
+            id = rs.getInt("product_id");
+            name = rs.getString("product_name");
+            description = rs.getString("description");
+            category = rs.getString("category");
+            uom = rs.getString("unit_of_measure");
+            BigDecimal reorder = rs.getBigDecimal("reorder_level");
+            reorderLevel = reorder != null ? reorder : BigDecimal.ZERO;
+            supplierId = rs.getInt("supplier_id");
+            locationId = rs.getInt("location_id");
+            status = rs.getString("product_status");
+        }
+    }
+
+    /** One immutable version of the catalog */
+    public static class Snapshot {
+        public final long version;
+        private final Map<Integer, Supplier> suppliers;
+        private final Map<Integer, Location> locations;
+        private final Map<Integer, Product> products;
+        private final List<Supplier> suppliersByName;
+        private final List<Location> locationsByName;
+        private final List<Product> productsByName;
+
+        private Snapshot(long version, Map<Integer, Supplier> suppliers,
+                         Map<Integer, Location> locations, Map<Integer, Product> products) {
+            this.version = version;
+            this.suppliers = suppliers;
+            this.locations = locations;
+            this.products = products;
+            this.suppliersByName = sortedByName(suppliers, s -> s.name);
+            this.locationsByName = sortedByName(locations, l -> l.name);
+            this.productsByName = sortedByName(products, p -> p.name);
+        }
+
+        public Supplier supplier(int id) {
+            return suppliers.get(id);
+        }
+
+        public Location location(int id) {
+            return locations.get(id);
+        }
+
+        public Product product(int id) {
+            return products.get(id);
+        }
+
+        /** Name of the supplier with this id; null for 0 or an unknown id */
+        public String supplierName(int id) {
+            Supplier supplier = suppliers.get(id);
+            return supplier != null ? supplier.name : null;
+        }
+
+        /** Name of the location with this id; null for 0 or an unknown id */
+        public String locationName(int id) {
+            Location location = locations.get(id);
+            return location != null ? location.name : null;
+        }
+
+        // Ordered by name, like the ORDER BY name the panels used to query with
+        public List<Supplier> suppliers() {
+            return suppliersByName;
+        }
+
+        public List<Location> locations() {
+            return locationsByName;
+        }
+
+        public List<Product> products() {
+            return productsByName;
+        }
+    }
+
+    private static volatile Snapshot current = null;
+
+    // LOAD_LOCK lets one thread do the first load; UPDATE_LOCK guards replacing current and is
+    // never held across a query, so an edit saved on the EDT does not wait for a load
+    private static final Object LOAD_LOCK = new Object();
+    private static final Object UPDATE_LOCK = new Object();
+    private static long changes = 0;   // guarded by UPDATE_LOCK; counts every *Changed call
+
+    /** The catalog, loading it first if this is the first use. Call off the EDT. */
+    public static Snapshot get() throws SQLException {
+        Snapshot snapshot = current;
+        if (snapshot != null) return snapshot;
+
+        synchronized (LOAD_LOCK) {
+            while (current == null) {
+                long seen;
+                synchronized (UPDATE_LOCK) {
+                    seen = changes;
+                }
+                Snapshot loaded = readAll(1);
+                synchronized (UPDATE_LOCK) {
+                    // A row changed while the tables were read may be missing from them: read again
+                    if (changes == seen) {
+                        current = loaded;
+                    }
+                }
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Read the three tables again, picking up rows written elsewhere (another
+     * terminal, the CLI tools). Call off the EDT.
+     */
+    public static Snapshot reload() throws SQLException {
+        while (true) {
+            Snapshot seen = current;
+            if (seen == null) return get();
+
+            // Read without the lock so the EDT's incremental updates are not held up;
+            // if one lands meanwhile, read again so it is not lost
+            Snapshot fresh = readAll(seen.version + 1);
+            synchronized (UPDATE_LOCK) {
+                if (current == seen) {
+                    current = fresh;
+                    return fresh;
+                }
+            }
+        }
+    }
+
+    /**
+     * The catalog as it is now, without waiting for a load; empty if it has
+     * not been loaded yet. For the EDT, where panels only read it after a
+     * load through get() has finished.
+     */
+    public static Snapshot snapshot() {
+        Snapshot snapshot = current;
+        return snapshot != null ? snapshot : new Snapshot(0, Map.of(), Map.of(), Map.of());
+    }
+
+    // ===== INCREMENTAL UPDATES =====
+    /** Re-read supplier id after an insert, update or delete on conn; returns the previous row, if any */
+    public static Supplier supplierChanged(Connection conn, int id) throws SQLException {
+        Supplier supplier = readOne(conn, QueryRepository.CATALOG_SUPPLIER, id, Supplier::new);
+        return update(snapshot -> snapshot.supplier(id), snapshot -> new Snapshot(snapshot.version + 1,
+                replace(snapshot.suppliers, id, supplier), snapshot.locations, snapshot.products));
+    }
+
+    /** Re-read location id after an insert, update or delete on conn; returns the previous row, if any */
+    public static Location locationChanged(Connection conn, int id) throws SQLException {
+        Location location = readOne(conn, QueryRepository.CATALOG_LOCATION, id, Location::new);
+        return update(snapshot -> snapshot.location(id), snapshot -> new Snapshot(snapshot.version + 1,
+                snapshot.suppliers, replace(snapshot.locations, id, location), snapshot.products));
+    }
+
+    /** Re-read product id after an insert, update or delete on conn; returns the previous row, if any */
+    public static Product productChanged(Connection conn, int id) throws SQLException {
+        Product product = readOne(conn, QueryRepository.CATALOG_PRODUCT, id, Product::new);
+        return update(snapshot -> snapshot.product(id), snapshot -> new Snapshot(snapshot.version + 1,
+                snapshot.suppliers, snapshot.locations, replace(snapshot.products, id, product)));
+    }
+
+    private static <T> T update(Function<Snapshot, T> previous, Function<Snapshot, Snapshot> change) {
+        synchronized (UPDATE_LOCK) {
+            changes++;
+            // Not loaded yet: a load in progress sees changes move and reads the tables again
+            if (current == null) return null;
+            T before = previous.apply(current);
+            current = change.apply(current);
+            return before;
+        }
+    }
+
+    // Copy of map with id mapped to value, or removed when value is null (the row was deleted)
+    private static <T> Map<Integer, T> replace(Map<Integer, T> map, int id, T value) {
+        Map<Integer, T> copy = new HashMap<>(map);
+        if (value != null) {
+            copy.put(id, value);
+        } else {
+            copy.remove(id);
+        }
+        return copy;
+    }
+
+    // ===== LOADING =====
+    private interface RowReader<T> {
+        T read(ResultSet rs) throws SQLException;
+    }
+
+    private static Snapshot readAll(long version) throws SQLException {
+        try (Connection conn = DBUtils.getConn()) {
+            return new Snapshot(version,
+                    readAll(conn, QueryRepository.CATALOG_SUPPLIERS, Supplier::new, s -> s.id),
+                    readAll(conn, QueryRepository.CATALOG_LOCATIONS, Location::new, l -> l.id),
+                    readAll(conn, QueryRepository.CATALOG_PRODUCTS, Product::new, p -> p.id));
+        }
+    }
+
+    private static <T> Map<Integer, T> readAll(Connection conn, String sql, RowReader<T> reader,
+                                               Function<T, Integer> id) throws SQLException {
+        Map<Integer, T> rows = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                T row = reader.read(rs);
+                rows.put(id.apply(row), row);
+            }
+        }
+        return rows;
+    }
+
+    private static <T> T readOne(Connection conn, String sql, int id, RowReader<T> reader) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? reader.read(rs) : null;
+            }
+        }
+    }
+
+    private static <T> List<T> sortedByName(Map<Integer, T> rows, Function<T, String> name) {
+        // Start in id order so rows with the same name keep a stable order
+        List<T> sorted = new ArrayList<>(new TreeMap<>(rows).values());
+        sorted.sort(Comparator.comparing(name, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER)));
+        return Collections.unmodifiableList(sorted);
+    }
+}
@@ -0,0 +1,191 @@
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process notifications of data written through the app.
+ *
+ * A screen publishes a typed event once its write is committed: a product,
+ * supplier or location inserted / updated / deleted, or stock movements
+ * inserted. Every panel subscribes to the events it shows and applies just
+ * that change (one card's stock, one location's product count) instead of
+ * reloading its list, so panels stay current even while they are hidden.
+ *
+ * publish() also bumps the event's table in DataVersion, for screens that
+ * still reload on change (ReportPanel) and for ReportCache. Events are
+ * published and delivered on the EDT, in subscription order.
+ *
+ * A row event needs the Catalog to say what the row looks like now. If the
+ * catalog has not been loaded yet there is no such delta, so publish()
+ * delivers a Reload of the table instead, and panels reload from scratch.
+ */
+public class ChangeBus {
+
+    public enum Kind {
+        INSERTED, UPDATED, DELETED
+    }
+
+    /** Base of every event */
+    public abstract static class Change {
+        public final DataVersion.Table table;
+
+        Change(DataVersion.Table table) {
+            this.table = table;
+        }
+    }
+
+    /**
+     * A reference row written through the app. before is the row as the
+     * Catalog had it (null for an insert), after as it has it now (null for
+     * a delete); Catalog must already have been updated.
+     */
+    public abstract static class EntityChanged<T> extends Change {
+        public final Kind kind;
+        public final int id;
+        public final T before;
+        public final T after;
+        // False when the catalog was not loaded: before and after are then unknown, not absent
+        final boolean catalogLoaded;
+
+        EntityChanged(DataVersion.Table table, Kind kind, int id, T before, T after, boolean catalogLoaded) {
+            super(table);
+            this.kind = kind;
+            this.id = id;
+            this.before = before;
+            this.after = after;
+            this.catalogLoaded = catalogLoaded;
+        }
+    }
+
+    // Each reads after and catalogLoaded from the same snapshot
+    public static class ProductChanged extends EntityChanged<Catalog.Product> {
+        public ProductChanged(Kind kind, int id, Catalog.Product before) {
+            this(kind, id, before, Catalog.snapshot());
+        }
+
+        private ProductChanged(Kind kind, int id, Catalog.Product before, Catalog.Snapshot catalog) {
+            super(DataVersion.Table.PRODUCT, kind, id, before, catalog.product(id), catalog.version > 0);
+        }
+    }
+
+    public static class SupplierChanged extends EntityChanged<Catalog.Supplier> {
+        public SupplierChanged(Kind kind, int id, Catalog.Supplier before) {
+            this(kind, id, before, Catalog.snapshot());
+        }
+
+        private SupplierChanged(Kind kind, int id, Catalog.Supplier before, Catalog.Snapshot catalog) {
+            super(DataVersion.Table.SUPPLIER, kind, id, before, catalog.supplier(id), catalog.version > 0);
+        }
+    }
+
+    public static class LocationChanged extends EntityChanged<Catalog.Location> {
+        public LocationChanged(Kind kind, int id, Catalog.Location before) {
+            this(kind, id, before, Catalog.snapshot());
+        }
+
+        private LocationChanged(Kind kind, int id, Catalog.Location before, Catalog.Snapshot catalog) {
+            super(DataVersion.Table.LOCATION, kind, id, before, catalog.location(id), catalog.version > 0);
+        }
+    }
+
+    /** Rows of table changed in a way no delta describes: reload whatever shows them */
+    public static class Reload extends Change {
+        public Reload(DataVersion.Table table) {
+            super(table);
+        }
+    }
+
+    /** One committed StockMovement row */
+    public static class Movement {
+        public final int productId;
+        public final int locationId;
+        public final int supplierId;   // 0 when the movement has no supplier
+        public final String movementType;
+        public final BigDecimal quantity;
+        public final LocalDate date;
+
+        public Movement(int productId, int locationId, Integer supplierId, String movementType,
+                        BigDecimal quantity, LocalDate date) {
+            this.productId = productId;
+            this.locationId = locationId;
+            this.supplierId = supplierId != null ? supplierId : 0;
+            this.movementType = movementType;
+            this.quantity = quantity;
+            this.date = date;
+        }
+
+        /** Change in the product's stock: + for IN, - for OUT */
+        public BigDecimal stockDelta() {
+            return "OUT".equals(movementType) ? quantity.negate() : quantity;
+        }
+    }
+
+    /** Movements committed together: one form submission or one sales import */
+    public static class MovementsInserted extends Change {
+        public final List<Movement> movements;
+
+        public MovementsInserted(List<Movement> movements) {
+            super(DataVersion.Table.MOVEMENT);
+            this.movements = List.copyOf(movements);
+        }
+
+        public MovementsInserted(Movement movement) {
+            this(List.of(movement));
+        }
+
+        /** Net stock change per product id */
+        public Map<Integer, BigDecimal> stockDeltas() {
+            Map<Integer, BigDecimal> deltas = new LinkedHashMap<>();
+            for (Movement movement : movements) {
+                deltas.merge(movement.productId, movement.stockDelta(), BigDecimal::add);
+            }
+            return deltas;
+        }
+    }
+
+    public interface Listener<C extends Change> {
+        void changed(C change);
+    }
+
+    private static class Subscription<C extends Change> {
+        final Class<C> type;
+        final Listener<? super C> listener;
+
+        Subscription(Class<C> type, Listener<? super C> listener) {
+            this.type = type;
+            this.listener = listener;
+        }
+
+        void deliver(Change change) {
+            if (type.isInstance(change)) {
+                listener.changed(type.cast(change));
+            }
+        }
+    }
+
+    private static final List<Subscription<?>> SUBSCRIPTIONS = new CopyOnWriteArrayList<>();
+
+    /** Call listener for every published event of type (or a subclass of it) */
+    public static <C extends Change> void subscribe(Class<C> type, Listener<? super C> listener) {
+        SUBSCRIPTIONS.add(new Subscription<>(type, listener));
+    }
+
+    /** Record change in DataVersion and deliver it to the subscribers. Call on the EDT, after the commit. */
+    public static void publish(Change change) {
+        if (change instanceof EntityChanged && !((EntityChanged<?>) change).catalogLoaded) {
+            change = new Reload(change.table);
+        }
+        DataVersion.bump(change.table);
+        for (Subscription<?> subscription : SUBSCRIPTIONS) {
+            try {
+                subscription.deliver(change);
+            } catch (RuntimeException ex) {
+                // The write is committed; one panel failing to apply it must not keep it from the others
+                ex.printStackTrace();
+            }
+        }
+    }
+}
@@ -1,10 +1,14 @@
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
-import java.io.InputStream;
+import java.awt.event.ActionEvent;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionAdapter;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
 public class CloudKitchenApp extends JFrame {
 
@@ -13,10 +17,12 @@ public class CloudKitchenApp extends JFrame {
     private final Color SIDEBAR_BG = new Color(0xFEFEFE);
     private final Color BUTTON_HOVER = new Color(0xD8D8D8);
     private final JPanel mainPanel = new RoundedCornerPanel(20); // 30px radius
+    private final JPanel panelCards = new JPanel();
+    private final PanelRegistry panels = new PanelRegistry(panelCards);
     private JButton selectedButton = null;
 
-    Font lexendRegular = FontUtils.loadFont("/resources/fonts/lexend-regular.ttf", 14f);
-    Font lexendBold = FontUtils.loadFont("/resources/fonts/lexend-bold.ttf", 14f);
+    Font lexendRegular = ResourceCache.font(ResourceCache.LEXEND_REGULAR, 14f);
+    Font lexendBold = ResourceCache.font(ResourceCache.LEXEND_BOLD, 14f);
 
     public CloudKitchenApp() {
         super("Cloud Kitchen Inventory");
@@ -35,10 +41,7 @@ public class CloudKitchenApp extends JFrame {
         titleBar.setBackground(SIDEBAR_BG);
 
         // App icon
-        ImageIcon appIcon = new ImageIcon(
-                new ImageIcon(getClass().getResource("/resources/icons/cloudkitchenapp.png"))
-                        .getImage().getScaledInstance(24, 24, Image.SCALE_SMOOTH)
-        );
+        ImageIcon appIcon = ResourceCache.icon(ResourceCache.APP_ICON, ResourceCache.APP_ICON_SIZE, ResourceCache.APP_ICON_SIZE);
 
         JLabel iconLabel = new JLabel(appIcon);
         iconLabel.setBorder(new EmptyBorder(0, 0, 0, 5)); // spacing
@@ -122,21 +125,77 @@ public class CloudKitchenApp extends JFrame {
         sidebar.add(btnReports);
         sidebar.add(Box.createVerticalGlue());
 
-        // Set default view
-        switchPanel(new ProductPanel(), btnProducts);
+        // Picks up what other terminals and the CLI tools wrote since the panels loaded
+        JButton btnRefresh = new RoundedButton("Refresh Data", 20);
+        btnRefresh.setFocusPainted(false);
+        btnRefresh.setFont(lexendRegular.deriveFont(Font.PLAIN, 12f));
+        btnRefresh.setBackground(SIDEBAR_BG);
+        btnRefresh.setForeground(Color.BLACK);
+        btnRefresh.setBorderPainted(false);
+        btnRefresh.setContentAreaFilled(false);
+        btnRefresh.setHorizontalAlignment(SwingConstants.LEFT);
+        btnRefresh.setBorder(new EmptyBorder(0, 10, 0, 0));
+        btnRefresh.setMaximumSize(new Dimension(200, 35));
+        btnRefresh.setToolTipText("Reload data changed on other terminals (F5)");
+        btnRefresh.addActionListener(e -> refreshData());
+        sidebar.add(btnRefresh);
+        sidebar.add(Box.createVerticalStrut(15));
 
         // ----------------- MAIN PANEL -----------------
         mainPanel.setLayout(new BorderLayout());
         mainPanel.setBackground(BG_COLOR);
         mainPanel.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
-        switchPanel(new ProductPanel(), btnProducts);
+        panelCards.setOpaque(false);
+        mainPanel.add(panelCards, BorderLayout.CENTER);
+
+        // Panels are built on first use and kept. The first four apply ChangeBus events as they
+        // are published, even while hidden, so they list no tables; reports reload on show when
+        // their tables changed. Refresh Data (F5) reloads them all from the database.
+        panels.register("products", ProductPanel::new, ProductPanel::refresh);
+        panels.register("suppliers", SupplierPanel::new, SupplierPanel::refresh);
+        panels.register("locations", LocationPanel::new, LocationPanel::refresh);
+        panels.register("movements", MovementPanel::new, MovementPanel::refresh);
+        panels.register("reports", ReportPanel::new, ReportPanel::refresh,
+                DataVersion.Table.PRODUCT, DataVersion.Table.SUPPLIER,
+                DataVersion.Table.LOCATION, DataVersion.Table.MOVEMENT);
+
+        // Paint a skeleton first; the Products panel is built once the frame is on screen
+        panels.register("loading", SkeletonPanel::new, p -> {});
+        panels.show("loading");
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent e) {
+                Startup.mark("frame visible");
+                SwingUtilities.invokeLater(() -> switchPanel("products", btnProducts));
+            }
+        });
 
         // Button actions
-        btnProducts.addActionListener(e -> switchPanel(new ProductPanel(), btnProducts));
-        btnSuppliers.addActionListener(e -> switchPanel(new SupplierPanel(), btnSuppliers));
-        btnLocations.addActionListener(e -> switchPanel(new LocationPanel(), btnLocations));
-        btnMovements.addActionListener(e -> switchPanel(new MovementPanel(new ReportPanel()), btnMovements));
-        btnReports.addActionListener(e -> switchPanel(new ReportPanel(), btnReports));
+        btnProducts.addActionListener(e -> switchPanel("products", btnProducts));
+        btnSuppliers.addActionListener(e -> switchPanel("suppliers", btnSuppliers));
+        btnLocations.addActionListener(e -> switchPanel("locations", btnLocations));
+        btnMovements.addActionListener(e -> switchPanel("movements", btnMovements));
+        btnReports.addActionListener(e -> switchPanel("reports", btnReports));
+
+        // Ctrl+Shift+D: query and cache diagnostics
+        getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(
+                KeyStroke.getKeyStroke(KeyEvent.VK_D, InputEvent.CTRL_DOWN_MASK | InputEvent.SHIFT_DOWN_MASK), "diagnostics");
+        getRootPane().getActionMap().put("diagnostics", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                DiagnosticsDialog.open(CloudKitchenApp.this);
+            }
+        });
+
+        // F5: reload everything from the database
+        getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(
+                KeyStroke.getKeyStroke(KeyEvent.VK_F5, 0), "refresh");
+        getRootPane().getActionMap().put("refresh", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                refreshData();
+            }
+        });
 
         // ----------------- LAYOUT -----------------
         getContentPane().setLayout(new BorderLayout());
@@ -145,6 +204,14 @@ public class CloudKitchenApp extends JFrame {
         getContentPane().add(mainPanel, BorderLayout.CENTER);
     }
 
+    // Re-read the catalog first, since every panel's reload takes names and status from it
+    private void refreshData() {
+        DataLoader.load(panels, Catalog::reload, catalog -> {
+            ReportCache.clear();
+            panels.refreshAll();
+        });
+    }
+
     private JButton createSidebarButton(String text, String iconPathNormal, String iconPathActive) {
         JButton button = new RoundedButton(text, 20);
         button.setFocusPainted(false);
@@ -163,15 +230,9 @@ public class CloudKitchenApp extends JFrame {
         button.setIconTextGap(10);
         button.setBorder(new EmptyBorder(0, 10, 0, 0)); // shifts icon + text right
 
-        // Load & scale icons
-        ImageIcon iconNormal = new ImageIcon(
-                new ImageIcon(getClass().getResource(iconPathNormal))
-                        .getImage().getScaledInstance(35, 35, Image.SCALE_SMOOTH)
-        );
-        ImageIcon iconActive = new ImageIcon(
-                new ImageIcon(getClass().getResource(iconPathActive))
-                        .getImage().getScaledInstance(35, 35, Image.SCALE_SMOOTH)
-        );
+        // Scaled icons come from the shared cache (usually already warmed at startup)
+        ImageIcon iconNormal = ResourceCache.icon(iconPathNormal, ResourceCache.SIDEBAR_ICON_SIZE, ResourceCache.SIDEBAR_ICON_SIZE);
+        ImageIcon iconActive = ResourceCache.icon(iconPathActive, ResourceCache.SIDEBAR_ICON_SIZE, ResourceCache.SIDEBAR_ICON_SIZE);
 
         button.setIcon(iconNormal);
 
@@ -266,6 +327,31 @@ public class CloudKitchenApp extends JFrame {
         }
     }
 
+    // Grey placeholder cards shown until the first real panel is built
+    class SkeletonPanel extends JPanel {
+        private final Color BAR_COLOR = new Color(0xDCDCDC);
+
+        public SkeletonPanel() {
+            setOpaque(false);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            int w = getWidth();
+
+            // Filter bar, then a column of cards
+            g2.setColor(BAR_COLOR);
+            g2.fillRoundRect(0, 0, w, 40, 10, 10);
+            g2.setColor(Color.WHITE);
+            for (int y = 55; y + 80 < getHeight(); y += 88) {
+                g2.fillRoundRect(0, y, w, 80, 10, 10);
+            }
+            g2.dispose();
+        }
+    }
+
     private Color lerp(Color a, Color b, float t) {
         int r = (int)(a.getRed() + (b.getRed() - a.getRed()) * t);
         int g = (int)(a.getGreen() + (b.getGreen() - a.getGreen()) * t);
@@ -292,9 +378,8 @@ public class CloudKitchenApp extends JFrame {
         timer.start();
     }
 
-    private void switchPanel(JPanel panel, JButton button) {
-        mainPanel.removeAll();
-        mainPanel.add(panel, BorderLayout.CENTER);
+    private void switchPanel(String name, JButton button) {
+        panels.show(name);
         mainPanel.revalidate();
         mainPanel.repaint();
 
@@ -314,20 +399,16 @@ public class CloudKitchenApp extends JFrame {
 
     public class FontUtils {
 
+        /** Shared, cached font; the TTF is parsed once per process (see ResourceCache) */
         public static Font loadFont(String path, float size) {
-            try {
-                InputStream is = FontUtils.class.getResourceAsStream(path);
-                Font font = Font.createFont(Font.TRUETYPE_FONT, is);
-                return font.deriveFont(size);
-            } catch (Exception e) {
-                System.err.println("Failed to load font: " + path);
-                e.printStackTrace();
-                return new Font("Segoe UI", Font.PLAIN, (int) size); // fallback
-            }
+            return ResourceCache.font(path, size);
         }
     }
 
     public static void main(String[] args) {
+        Startup.mark("main");
+        EdtWatchdog.install();
+        Startup.start();
         SwingUtilities.invokeLater(() -> new CloudKitchenApp().setVisible(true));
     }
 }
@@ -0,0 +1,682 @@
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Small bounded JDBC connection pool used behind DBUtils.getConn().
+ * Callers keep the usual try-with-resources pattern: close() on a borrowed
+ * connection hands the physical connection back to the pool instead of
+ * tearing down the TCP session.
+ *
+ * Each pooled connection also keeps an LRU cache of up to statementCacheSize
+ * prepared statements, keyed by SQL text. prepareStatement(sql) on a borrowed
+ * connection returns the cached statement when it is free, and close() on it
+ * closes its result sets and clears its parameters instead of closing it, so
+ * the server-side statement is prepared once per connection rather than once
+ * per load.
+ *
+ * Every statement handed out is wrapped, so an optional QueryListener can time
+ * each execution and the fetching of its result set (see QueryStats).
+ */
+public class ConnectionPool {
+
+    // Connections returned more recently than this are handed out without an isValid() round trip
+    private static final long VALIDATE_AFTER_IDLE_MS = 30 * 1000;
+
+    private final String url;
+    private final String user;
+    private final String pass;
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMs;
+    private final long leakThresholdMs;
+    private final long borrowTimeoutMs;
+    private final int statementCacheSize;
+
+    private final AtomicLong statementHits = new AtomicLong();
+    private final AtomicLong statementMisses = new AtomicLong();
+    private volatile QueryListener queryListener = null;
+
+    /** Told about every statement executed on a borrowed connection */
+    public interface QueryListener {
+        /** Called on the executing thread just before sql runs */
+        QueryTrace begin(String sql);
+    }
+
+    public interface QueryTrace {
+        /** Called once: when the query's result set is closed, or right after an update */
+        void end(long rows, long executeNanos, long fetchNanos);
+    }
+
+    // Guarded by "this"
+    private final Deque<PooledEntry> idle = new ArrayDeque<>();
+    private int totalCount = 0;
+    private boolean shutdown = false;
+
+    private final Set<PooledEntry> borrowed = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+
+    public ConnectionPool(String url, String user, String pass,
+                          int minSize, int maxSize,
+                          long idleTimeoutMs, long leakThresholdMs, long borrowTimeoutMs,
+                          int statementCacheSize) {
+        this.url = url;
+        this.user = user;
+        this.pass = pass;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.leakThresholdMs = leakThresholdMs;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.statementCacheSize = statementCacheSize;
+
+        housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep, 30, 30, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "db-pool-shutdown"));
+    }
+
+    /** Borrow a connection, validating idle ones and opening new ones up to maxSize */
+    public Connection borrow() throws SQLException {
+        long deadline = System.currentTimeMillis() + borrowTimeoutMs;
+
+        while (true) {
+            PooledEntry entry = null;
+            boolean create = false;
+
+            synchronized (this) {
+                if (shutdown) {
+                    throw new SQLException("Connection pool has been shut down");
+                }
+                if (!idle.isEmpty()) {
+                    entry = idle.pollFirst();
+                } else if (totalCount < maxSize) {
+                    totalCount++;
+                    create = true;
+                } else {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        throw new SQLException("Timed out waiting for a database connection (pool size " + maxSize + ")");
+                    }
+                    try {
+                        wait(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection", e);
+                    }
+                    continue;
+                }
+            }
+
+            if (create) {
+                try {
+                    entry = new PooledEntry(DriverManager.getConnection(url, user, pass));
+                } catch (SQLException ex) {
+                    synchronized (this) {
+                        totalCount--;
+                        notifyAll();
+                    }
+                    throw ex;
+                }
+            } else if (!isUsable(entry)) {
+                // Validation failed (server restarted, wait_timeout, ...): drop it and retry
+                discard(entry);
+                continue;
+            }
+
+            entry.borrowedAt = System.currentTimeMillis();
+            entry.borrowTrace = new Throwable("Connection borrowed here");
+            entry.leakReported = false;
+            borrowed.add(entry);
+            return entry.newHandle();
+        }
+    }
+
+    /** Open connections until the pool holds at least minSize of them */
+    public void prefill() {
+        while (true) {
+            synchronized (this) {
+                if (shutdown || totalCount >= minSize) return;
+                totalCount++;
+            }
+            try {
+                PooledEntry entry = new PooledEntry(DriverManager.getConnection(url, user, pass));
+                synchronized (this) {
+                    idle.addLast(entry);
+                    notifyAll();
+                }
+            } catch (SQLException ex) {
+                synchronized (this) {
+                    totalCount--;
+                }
+                System.err.println("Connection pool prefill failed: " + ex.getMessage());
+                return;
+            }
+        }
+    }
+
+    public synchronized int getTotalCount() {
+        return totalCount;
+    }
+
+    public synchronized int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getBorrowedCount() {
+        return borrowed.size();
+    }
+
+    /** prepareStatement calls answered from a connection's statement cache */
+    public long getStatementHits() {
+        return statementHits.get();
+    }
+
+    /** prepareStatement calls that had to prepare a new statement */
+    public long getStatementMisses() {
+        return statementMisses.get();
+    }
+
+    public void setQueryListener(QueryListener listener) {
+        this.queryListener = listener;
+    }
+
+    public String statementCacheStats() {
+        long hits = statementHits.get();
+        long total = hits + statementMisses.get();
+        return String.format("%d hits, %d misses (%.1f%% hit rate)",
+                hits, total - hits, total == 0 ? 0.0 : 100.0 * hits / total);
+    }
+
+    /** Close every idle connection and refuse further borrows */
+    public void shutdown() {
+        List<PooledEntry> toClose;
+        synchronized (this) {
+            if (shutdown) return;
+            shutdown = true;
+            toClose = new ArrayList<>(idle);
+            totalCount -= idle.size();
+            idle.clear();
+            notifyAll();
+        }
+        housekeeper.shutdownNow();
+        for (PooledEntry entry : toClose) {
+            closeQuietly(entry.physical);
+        }
+    }
+
+    private boolean isUsable(PooledEntry entry) {
+        try {
+            if (entry.physical.isClosed()) return false;
+            // A connection that was in use moments ago is still alive; only ask the server about idle ones
+            return System.currentTimeMillis() - entry.lastReturnedAt < VALIDATE_AFTER_IDLE_MS
+                    || entry.physical.isValid(2);
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    private void release(PooledEntry entry) {
+        borrowed.remove(entry);
+
+        boolean reusable;
+        try {
+            reusable = !entry.physical.isClosed();
+            if (reusable && !entry.physical.getAutoCommit()) {
+                // Never hand an open transaction to the next borrower
+                entry.physical.rollback();
+                entry.physical.setAutoCommit(true);
+            }
+        } catch (SQLException ex) {
+            reusable = false;
+        }
+
+        if (!reusable) {
+            discard(entry);
+            return;
+        }
+
+        entry.lastReturnedAt = System.currentTimeMillis();
+        synchronized (this) {
+            if (shutdown) {
+                totalCount--;
+                closeQuietly(entry.physical);
+                return;
+            }
+            idle.addFirst(entry);
+            notifyAll();
+        }
+    }
+
+    private void discard(PooledEntry entry) {
+        closeQuietly(entry.physical);
+        synchronized (this) {
+            totalCount--;
+            notifyAll();
+        }
+    }
+
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        // Idle eviction: close connections unused for idleTimeoutMs, keeping minSize alive
+        List<PooledEntry> evicted = new ArrayList<>();
+        synchronized (this) {
+            Iterator<PooledEntry> it = idle.descendingIterator(); // oldest first
+            while (it.hasNext() && totalCount > minSize) {
+                PooledEntry entry = it.next();
+                if (now - entry.lastReturnedAt >= idleTimeoutMs) {
+                    it.remove();
+                    totalCount--;
+                    evicted.add(entry);
+                }
+            }
+        }
+        for (PooledEntry entry : evicted) {
+            closeQuietly(entry.physical);
+        }
+
+        prefill();
+
+        // Leak detection: report connections held far longer than any screen load should take
+        for (PooledEntry entry : borrowed) {
+            if (!entry.leakReported && now - entry.borrowedAt >= leakThresholdMs) {
+                entry.leakReported = true;
+                System.err.println("Possible connection leak: connection held for "
+                        + (now - entry.borrowedAt) + " ms");
+                entry.borrowTrace.printStackTrace();
+            }
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable c) {
+        try {
+            c.close();
+        } catch (Exception ignored) {
+        }
+    }
+
+    // ---------- POOLED CONNECTION ----------
+    private class PooledEntry {
+        final Connection physical;
+        volatile long borrowedAt;
+        volatile long lastReturnedAt = System.currentTimeMillis();
+        volatile Throwable borrowTrace;
+        volatile boolean leakReported;
+
+        // Only touched by the thread holding the connection; borrow/release hand it over through the pool lock
+        final Map<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() <= statementCacheSize) return false;
+                eldest.getValue().evict();
+                return true;
+            }
+        };
+
+        PooledEntry(Connection physical) {
+            this.physical = physical;
+        }
+
+        /** A logical statement for sql, reusing the cached one when no other caller holds it */
+        PreparedStatement prepare(Connection handle, String sql, int autoGeneratedKeys) throws SQLException {
+            String key = autoGeneratedKeys + ":" + sql;
+            CachedStatement cached = statements.get(key);
+            if (cached != null && cached.evicted) {
+                // Its reset failed on release and it was closed: prepare the SQL afresh
+                statements.remove(key);
+                cached = null;
+            }
+            if (cached != null && !cached.inUse) {
+                statementHits.incrementAndGet();
+            } else {
+                statementMisses.incrementAndGet();
+                PreparedStatement ps = physical.prepareStatement(sql, autoGeneratedKeys);
+                if (cached == null && statementCacheSize > 0) {
+                    cached = new CachedStatement(ps, sql);
+                    statements.put(key, cached);
+                } else {
+                    // Same SQL already open on this connection (or caching is off): hand out an uncached one
+                    cached = CachedStatement.uncached(ps, sql);
+                }
+            }
+            cached.inUse = true;
+            return (PreparedStatement) newStatementHandle(cached, handle);
+        }
+
+        Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new Handle(this));
+        }
+    }
+
+    /**
+     * One borrow of a pooled connection. Statements opened through the handle
+     * are closed when the handle is closed, just like with a real connection,
+     * so callers that forget to close a Statement do not leak it into the pool.
+     */
+    private class Handle implements InvocationHandler {
+        private final PooledEntry entry;
+        private final List<Statement> openStatements = new ArrayList<>();
+        private boolean closed = false;
+
+        Handle(PooledEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        for (Statement st : openStatements) {
+                            closeQuietly(st);
+                        }
+                        openStatements.clear();
+                        release(entry);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || entry.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + entry.physical + "]";
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Connection is closed");
+            }
+
+            if (method.getName().equals("prepareStatement")
+                    && (args.length == 1 || (args.length == 2 && method.getParameterTypes()[1] == int.class))) {
+                int autoGeneratedKeys = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+                PreparedStatement ps = entry.prepare((Connection) proxy, (String) args[0], autoGeneratedKeys);
+                openStatements.add(ps);
+                return ps;
+            }
+
+            Object result;
+            try {
+                result = method.invoke(entry.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            if (result instanceof Statement) {
+                // Other prepareStatement / createStatement variants: not cached, but still traced
+                if (!(result instanceof CallableStatement)) {
+                    String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                    result = newStatementHandle(CachedStatement.uncached((Statement) result, sql), (Connection) proxy);
+                }
+                openStatements.add((Statement) result);
+            }
+            return result;
+        }
+    }
+
+    // ---------- CACHED STATEMENTS ----------
+    private Statement newStatementHandle(CachedStatement cached, Connection connection) {
+        Class<?> type = cached.physical instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return (Statement) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{type},
+                new StatementHandle(cached, connection));
+    }
+
+    private static class CachedStatement {
+        final Statement physical;
+        final String sql;
+        boolean inUse = false;
+        boolean evicted = false;
+
+        CachedStatement(Statement physical, String sql) {
+            this.physical = physical;
+            this.sql = sql;
+        }
+
+        /** A statement outside the cache: closed as soon as its holder closes it */
+        static CachedStatement uncached(Statement physical, String sql) {
+            CachedStatement statement = new CachedStatement(physical, sql);
+            statement.evicted = true;
+            return statement;
+        }
+
+        /** Dropped from the cache: close now, or when its current holder is done with it */
+        void evict() {
+            evicted = true;
+            if (!inUse) {
+                closeQuietly(physical);
+            }
+        }
+
+        /** Back from a caller: make it look freshly prepared for the next one */
+        void release(List<ResultSet> results) {
+            inUse = false;
+            for (ResultSet rs : results) {
+                closeQuietly(rs);
+            }
+            if (evicted) {
+                closeQuietly(physical);
+                return;
+            }
+            try {
+                PreparedStatement ps = (PreparedStatement) physical;
+                ps.clearParameters();
+                ps.clearBatch();
+                ps.setMaxRows(0);
+                ps.setQueryTimeout(0);
+                ps.setFetchSize(0);
+            } catch (SQLException ex) {
+                evicted = true;
+                closeQuietly(physical);
+            }
+        }
+    }
+
+    /** One use of a statement; close() returns cached ones to the cache */
+    private class StatementHandle implements InvocationHandler {
+        private final CachedStatement cached;
+        private final Connection connection;
+        private final List<ResultSet> results = new ArrayList<>();
+        private volatile boolean closed = false;
+
+        // execute() that produced a result set: traced once getResultSet() hands it out
+        private QueryTrace pendingTrace = null;
+        private long pendingExecuteNanos = 0;
+
+        StatementHandle(CachedStatement cached, Connection connection) {
+            this.cached = cached;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        endPending(0);
+                        cached.release(results);
+                        results.clear();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || cached.physical.isClosed();
+                case "getConnection":
+                    return connection;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + cached.physical + "]";
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+
+            QueryListener listener = queryListener;
+            if (listener != null && method.getName().startsWith("execute")) {
+                return executeTraced(listener, (Statement) proxy, method, args);
+            }
+
+            Object result = forward(method, args);
+            if (result instanceof ResultSet) {
+                ResultSet rs = (ResultSet) result;
+                if (pendingTrace != null && method.getName().equals("getResultSet")) {
+                    rs = newResultSetHandle(rs, (Statement) proxy, pendingTrace, pendingExecuteNanos);
+                    pendingTrace = null;
+                }
+                results.add(rs);
+                return rs;
+            }
+            return result;
+        }
+
+        private Object executeTraced(QueryListener listener, Statement proxy, Method method, Object[] args) throws Throwable {
+            endPending(0);
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : cached.sql;
+            QueryTrace trace = listener.begin(sql != null ? sql : "?");
+
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = forward(method, args);
+            } catch (Throwable t) {
+                trace.end(0, System.nanoTime() - start, 0);
+                throw t;
+            }
+            long executeNanos = System.nanoTime() - start;
+
+            if (result instanceof ResultSet) {
+                ResultSet rs = newResultSetHandle((ResultSet) result, proxy, trace, executeNanos);
+                results.add(rs);
+                return rs;
+            }
+            if (result instanceof Boolean) {
+                if ((Boolean) result) {
+                    pendingTrace = trace;
+                    pendingExecuteNanos = executeNanos;
+                } else {
+                    trace.end(Math.max(0, cached.physical.getUpdateCount()), executeNanos, 0);
+                }
+            } else if (result instanceof Number) {
+                trace.end(((Number) result).longValue(), executeNanos, 0);
+            } else if (result instanceof int[]) {
+                // executeBatch: counts may be SUCCESS_NO_INFO (-2)
+                long rows = 0;
+                for (int count : (int[]) result) {
+                    if (count > 0) rows += count;
+                }
+                trace.end(rows, executeNanos, 0);
+            } else {
+                trace.end(0, executeNanos, 0);
+            }
+            return result;
+        }
+
+        private void endPending(long rows) {
+            if (pendingTrace != null) {
+                pendingTrace.end(rows, pendingExecuteNanos, 0);
+                pendingTrace = null;
+            }
+        }
+
+        private Object forward(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(cached.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static ResultSet newResultSetHandle(ResultSet rs, Statement statement, QueryTrace trace, long executeNanos) {
+        return (ResultSet) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                new ResultSetHandle(rs, statement, trace, executeNanos));
+    }
+
+    /** Counts rows and time spent in next(); ends the query's trace when closed */
+    private static class ResultSetHandle implements InvocationHandler {
+        private final ResultSet physical;
+        private final Statement statement;
+        private final QueryTrace trace;
+        private final long executeNanos;
+        private long rows = 0;
+        private long fetchNanos = 0;
+        private boolean ended = false;
+
+        ResultSetHandle(ResultSet physical, Statement statement, QueryTrace trace, long executeNanos) {
+            this.physical = physical;
+            this.statement = statement;
+            this.trace = trace;
+            this.executeNanos = executeNanos;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "next": {
+                    long start = System.nanoTime();
+                    boolean hasRow = (Boolean) forward(method, args);
+                    fetchNanos += System.nanoTime() - start;
+                    if (hasRow) rows++;
+                    return hasRow;
+                }
+                case "close":
+                    if (!ended) {
+                        ended = true;
+                        trace.end(rows, executeNanos, fetchNanos);
+                    }
+                    return forward(method, args);
+                case "getStatement":
+                    return statement;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return forward(method, args);
+            }
+        }
+
+        private Object forward(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
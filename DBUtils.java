@@ -7,13 +7,47 @@
 
     public class DBUtils {
         // Database credentials
-        private static final String DB_URL  = "jdbc:mysql://127.0.0.1:3306/CloudKitchenInventory_db?useSSL=false&serverTimezone=UTC";
+        private static final String DB_URL  = "jdbc:mysql://127.0.0.1:3306/CloudKitchenInventory_db?useSSL=false&serverTimezone=UTC&useServerPrepStmts=true";
         private static final String DB_USER = "root";
         private static final String DB_PASS = "12345678";
 
-        /** Get a database connection */
+        // Connection pool settings
+        private static final int POOL_MIN_SIZE = 2;
+        private static final int POOL_MAX_SIZE = 10;
+        private static final long POOL_IDLE_TIMEOUT_MS = 5 * 60 * 1000;   // close idle connections after 5 minutes
+        private static final long POOL_LEAK_THRESHOLD_MS = 60 * 1000;     // warn if a connection is held over 1 minute
+        private static final long POOL_BORROW_TIMEOUT_MS = 10 * 1000;     // give up waiting for a free connection
+        private static final int POOL_STATEMENT_CACHE_SIZE = Integer.getInteger("cloudkitchen.statementCache.size", 64); // prepared statements kept per connection
+
+        private static final ConnectionPool POOL = new ConnectionPool(
+                DB_URL, DB_USER, DB_PASS,
+                POOL_MIN_SIZE, POOL_MAX_SIZE,
+                POOL_IDLE_TIMEOUT_MS, POOL_LEAK_THRESHOLD_MS, POOL_BORROW_TIMEOUT_MS,
+                POOL_STATEMENT_CACHE_SIZE);
+
+        static {
+            // Time every query run through the pool (see QueryStats and DiagnosticsDialog)
+            POOL.setQueryListener(QueryStats.INSTANCE);
+        }
+
+        /** Get a pooled database connection (close() returns it to the pool) */
         public static Connection getConn() throws SQLException {
-            return DriverManager.getConnection(DB_URL, DB_USER, DB_PASS);
+            return POOL.borrow();
+        }
+
+        /** The shared connection pool behind getConn() */
+        public static ConnectionPool getPool() {
+            return POOL;
+        }
+
+        /** Id generated by the insert ps just ran; ps must be prepared with RETURN_GENERATED_KEYS */
+        public static int generatedKey(PreparedStatement ps) throws SQLException {
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                if (!keys.next()) {
+                    throw new SQLException("Insert did not return a generated key");
+                }
+                return keys.getInt(1);
+            }
         }
 
         /** Show error message for SQLException */
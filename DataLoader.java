@@ -0,0 +1,147 @@
+import javax.swing.*;
+import java.awt.*;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs database loads off the Swing event dispatch thread.
+ *
+ * Every load is registered under a key (normally the card panel it fills).
+ * Starting a new load for the same key cancels the one still in flight, so
+ * flipping quickly between reports or months only ever renders the latest
+ * request. Results are handed back to the UI in a single EDT hop.
+ */
+public class DataLoader {
+
+    /** Background part of a load: runs JDBC and returns plain data, never Swing components */
+    public interface Query<T> {
+        T run() throws SQLException;
+    }
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(4, r -> {
+        Thread t = new Thread(r, "data-loader-" + THREAD_COUNT.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static final Map<Object, Task> IN_FLIGHT = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Task> CURRENT = new ThreadLocal<>();
+
+    /** Load in the background and report SQL errors with DBUtils.showErr */
+    public static <T> void load(Object key, Query<T> query, Consumer<T> onLoaded) {
+        load(key, query, onLoaded, DBUtils::showErr);
+    }
+
+    /**
+     * Run query on the loader pool, cancelling any earlier load for the same key.
+     * onLoaded / onError run on the EDT, and only if this load was not superseded.
+     * Must be called from the EDT.
+     */
+    public static <T> void load(Object key, Query<T> query, Consumer<T> onLoaded, Consumer<SQLException> onError) {
+        Task task = new Task();
+        Task previous = IN_FLIGHT.put(key, task);
+        if (previous != null) {
+            previous.cancel();
+        }
+
+        EXECUTOR.execute(() -> {
+            if (task.cancelled) return;
+
+            CURRENT.set(task);
+            T result = null;
+            SQLException error = null;
+            try {
+                result = query.run();
+            } catch (SQLException ex) {
+                error = ex;
+            } catch (RuntimeException ex) {
+                error = new SQLException("Unexpected error while loading data", ex);
+            } finally {
+                CURRENT.remove();
+                task.statement = null;
+            }
+
+            final T loaded = result;
+            final SQLException failure = error;
+            SwingUtilities.invokeLater(() -> {
+                // A newer load for this key may have started while we were querying
+                if (task.cancelled || !IN_FLIGHT.remove(key, task)) return;
+                if (failure != null) {
+                    onError.accept(failure);
+                } else {
+                    onLoaded.accept(loaded);
+                }
+            });
+        });
+    }
+
+    /** Cancel the in-flight load for key, if any, without starting a new one */
+    public static void cancel(Object key) {
+        Task task = IN_FLIGHT.remove(key);
+        if (task != null) {
+            task.cancel();
+        }
+    }
+
+    /**
+     * Register the statement the current background query is executing, so that
+     * a superseding load can cancel it on the server instead of waiting for it.
+     */
+    public static void watch(Statement statement) {
+        Task task = CURRENT.get();
+        if (task != null) {
+            task.statement = statement;
+            if (task.cancelled) {
+                task.cancelStatement();
+            }
+        }
+    }
+
+    /** True when the load running on this thread has been superseded */
+    public static boolean isCancelled() {
+        Task task = CURRENT.get();
+        return task != null && task.cancelled;
+    }
+
+    /** Replace a card panel's contents with a loading message */
+    public static void showLoading(JPanel panel, Font font) {
+        panel.removeAll();
+        JLabel loading = new JLabel("Loading...");
+        loading.setFont(font.deriveFont(14f));
+        loading.setForeground(new Color(0x888888));
+        loading.setAlignmentX(Component.CENTER_ALIGNMENT);
+        panel.add(Box.createVerticalGlue());
+        panel.add(loading);
+        panel.add(Box.createVerticalGlue());
+        panel.revalidate();
+        panel.repaint();
+    }
+
+    private static class Task {
+        volatile boolean cancelled = false;
+        volatile Statement statement;
+
+        void cancel() {
+            cancelled = true;
+            cancelStatement();
+        }
+
+        void cancelStatement() {
+            Statement st = statement;
+            if (st != null) {
+                try {
+                    st.cancel();
+                } catch (SQLException ignored) {
+                    // Statement already finished or driver does not support cancel
+                }
+            }
+        }
+    }
+}
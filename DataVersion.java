@@ -0,0 +1,36 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-table change counters for data edited through the app.
+ *
+ * Screens bump the tables they wrote after a successful commit. Cached panels
+ * remember the version they last loaded and only reload when it has moved,
+ * so switching back to a tab whose data did not change costs no queries.
+ */
+public class DataVersion {
+
+    public enum Table {
+        PRODUCT, SUPPLIER, LOCATION, MOVEMENT
+    }
+
+    private static final AtomicLongArray VERSIONS = new AtomicLongArray(Table.values().length);
+
+    /** Record that the given tables were written */
+    public static void bump(Table... tables) {
+        for (Table table : tables) {
+            VERSIONS.incrementAndGet(table.ordinal());
+        }
+    }
+
+    /**
+     * Combined version of the given tables. Counters only ever grow, so the sum
+     * changes exactly when at least one of the tables was bumped.
+     */
+    public static long get(Table... tables) {
+        long version = 0;
+        for (Table table : tables) {
+            version += VERSIONS.get(table.ordinal());
+        }
+        return version;
+    }
+}
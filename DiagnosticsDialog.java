@@ -0,0 +1,226 @@
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Developer diagnostics window, opened with Ctrl+Shift+D from the main
+ * window: per-query latency from QueryStats plus connection pool, statement
+ * cache and report cache counters, and EDT stalls from EdtWatchdog. Numbers
+ * are a snapshot; Refresh takes a new one.
+ */
+public class DiagnosticsDialog extends JDialog {
+
+    private static DiagnosticsDialog instance;
+
+    private final Font lexendRegular = CloudKitchenApp.FontUtils.loadFont("/resources/fonts/lexend-regular.ttf", 12f);
+    private final Color BG_COLOR = new Color(0xEBEBEB);
+
+    private final JTabbedPane tabs = new JTabbedPane();
+
+    // Queries tab
+    private final JLabel lblQuerySummary = new JLabel();
+    private final JLabel lblBuckets = new JLabel(" ");
+    private final DefaultTableModel queryModel = new DefaultTableModel(
+            new String[]{"SQL Id", "Caller", "Count", "Rows", "Mean ms", "p50 ms", "p95 ms", "Max ms", "Exec ms", "Fetch ms"}, 0) {
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return false;
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            // Numeric columns sort as numbers
+            return column < 2 ? String.class : column < 4 ? Long.class : Double.class;
+        }
+    };
+    private List<QueryStats.Row> queryRows = List.of();
+
+    // UI responsiveness tab
+    private final JLabel lblEdtSummary = new JLabel();
+    private final JLabel lblDispatchBuckets = new JLabel();
+    private final JLabel lblStallBuckets = new JLabel();
+    private final JTextArea taStack = new JTextArea(8, 40);
+    private final DefaultTableModel stallModel = new DefaultTableModel(
+            new String[]{"Time", "Duration ms", "Panel Method", "Event"}, 0) {
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return false;
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return column == 1 ? Double.class : String.class;
+        }
+    };
+    private List<EdtWatchdog.Stall> stallRows = List.of();
+
+    /** Show the diagnostics window, creating it on first use */
+    public static void open(Frame owner) {
+        if (instance == null) {
+            instance = new DiagnosticsDialog(owner);
+        }
+        instance.refresh();
+        instance.setVisible(true);
+        instance.toFront();
+    }
+
+    private DiagnosticsDialog(Frame owner) {
+        super(owner, "Diagnostics", false);
+        setSize(1000, 500);
+        setLocationRelativeTo(owner);
+
+        tabs.setFont(lexendRegular);
+        tabs.addTab("Queries", createQueriesTab());
+        tabs.addTab("UI Responsiveness", createResponsivenessTab());
+
+        JButton btnRefresh = new JButton("Refresh");
+        JButton btnReset = new JButton("Reset Stats");
+        JButton btnClose = new JButton("Close");
+        btnRefresh.addActionListener(e -> refresh());
+        btnReset.addActionListener(e -> {
+            QueryStats.INSTANCE.reset();
+            EdtWatchdog.reset();
+            refresh();
+        });
+        btnClose.addActionListener(e -> setVisible(false));
+
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT, 8, 8));
+        buttons.setBackground(BG_COLOR);
+        for (JButton btn : new JButton[]{btnRefresh, btnReset, btnClose}) {
+            btn.setFont(lexendRegular);
+            buttons.add(btn);
+        }
+
+        getContentPane().setLayout(new BorderLayout());
+        getContentPane().setBackground(BG_COLOR);
+        getContentPane().add(tabs, BorderLayout.CENTER);
+        getContentPane().add(buttons, BorderLayout.SOUTH);
+    }
+
+    private JPanel createQueriesTab() {
+        JPanel panel = new JPanel(new BorderLayout(5, 5));
+        panel.setBackground(BG_COLOR);
+        panel.setBorder(new EmptyBorder(10, 10, 10, 10));
+
+        lblQuerySummary.setFont(lexendRegular);
+        lblBuckets.setFont(lexendRegular.deriveFont(11f));
+
+        JTable table = new JTable(queryModel);
+        table.setFont(lexendRegular.deriveFont(11f));
+        table.getTableHeader().setFont(lexendRegular.deriveFont(11f));
+        table.setAutoCreateRowSorter(true);
+        table.getColumnModel().getColumn(0).setPreferredWidth(220);
+        table.getColumnModel().getColumn(1).setPreferredWidth(220);
+        table.getSelectionModel().addListSelectionListener(e -> {
+            int viewRow = table.getSelectedRow();
+            lblBuckets.setText(viewRow < 0 ? " "
+                    : "Histogram: " + queryRows.get(table.convertRowIndexToModel(viewRow)).getBuckets());
+        });
+
+        panel.add(lblQuerySummary, BorderLayout.NORTH);
+        panel.add(new JScrollPane(table), BorderLayout.CENTER);
+        panel.add(lblBuckets, BorderLayout.SOUTH);
+        return panel;
+    }
+
+    private JPanel createResponsivenessTab() {
+        JPanel panel = new JPanel(new BorderLayout(5, 5));
+        panel.setBackground(BG_COLOR);
+        panel.setBorder(new EmptyBorder(10, 10, 10, 10));
+
+        JPanel header = new JPanel(new GridLayout(3, 1, 0, 2));
+        header.setOpaque(false);
+        for (JLabel label : new JLabel[]{lblEdtSummary, lblDispatchBuckets, lblStallBuckets}) {
+            label.setFont(lexendRegular.deriveFont(11f));
+            header.add(label);
+        }
+
+        JTable table = new JTable(stallModel);
+        table.setFont(lexendRegular.deriveFont(11f));
+        table.getTableHeader().setFont(lexendRegular.deriveFont(11f));
+        table.setAutoCreateRowSorter(true);
+        table.getColumnModel().getColumn(2).setPreferredWidth(250);
+        table.getSelectionModel().addListSelectionListener(e -> {
+            int viewRow = table.getSelectedRow();
+            taStack.setText(viewRow < 0 ? "" : stackText(stallRows.get(table.convertRowIndexToModel(viewRow))));
+            taStack.setCaretPosition(0);
+        });
+
+        taStack.setEditable(false);
+        taStack.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 11));
+
+        JSplitPane split = new JSplitPane(JSplitPane.VERTICAL_SPLIT, new JScrollPane(table), new JScrollPane(taStack));
+        split.setResizeWeight(0.5);
+
+        JButton btnExport = new JButton("Export...");
+        btnExport.setFont(lexendRegular);
+        btnExport.addActionListener(e -> exportResponsiveness());
+        JPanel exportBar = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+        exportBar.setOpaque(false);
+        exportBar.add(btnExport);
+
+        panel.add(header, BorderLayout.NORTH);
+        panel.add(split, BorderLayout.CENTER);
+        panel.add(exportBar, BorderLayout.SOUTH);
+        return panel;
+    }
+
+    private static String stackText(EdtWatchdog.Stall stall) {
+        StringBuilder sb = new StringBuilder(stall.trigger).append("  (").append(stall.event).append(")\n");
+        for (StackTraceElement frame : stall.stack) {
+            sb.append("    at ").append(frame).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private void exportResponsiveness() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("edt-report.txt"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        try {
+            EdtWatchdog.writeReport(chooser.getSelectedFile());
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, "Could not write the report:\n" + ex.getMessage(),
+                    "Export Failed", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void refresh() {
+        ConnectionPool pool = DBUtils.getPool();
+        lblQuerySummary.setText(String.format(
+                "Connections: %d open, %d idle, %d in use  |  Statement cache: %s  |  Report cache: %s  |  Slow query log above %d ms",
+                pool.getTotalCount(), pool.getIdleCount(), pool.getBorrowedCount(),
+                pool.statementCacheStats(), ReportCache.stats(), QueryStats.SLOW_QUERY_MS));
+
+        queryRows = QueryStats.INSTANCE.snapshot();
+        queryModel.setRowCount(0);
+        for (QueryStats.Row row : queryRows) {
+            queryModel.addRow(new Object[]{
+                    row.sqlId, row.caller, row.getCount(), row.getRows(),
+                    round(row.getMeanMillis()), round(row.getP50Millis()), round(row.getP95Millis()),
+                    round(row.getMaxMillis()), round(row.getExecuteMillis()), round(row.getFetchMillis())});
+        }
+        lblBuckets.setText(" ");
+
+        lblEdtSummary.setText(EdtWatchdog.summary());
+        lblDispatchBuckets.setText("Event dispatch: " + EdtWatchdog.dispatchBuckets());
+        lblStallBuckets.setText("Stalls: " + EdtWatchdog.stallBuckets());
+        DateTimeFormatter time = DateTimeFormatter.ofPattern("HH:mm:ss");
+        stallRows = EdtWatchdog.getStalls();
+        stallModel.setRowCount(0);
+        for (EdtWatchdog.Stall stall : stallRows) {
+            stallModel.addRow(new Object[]{stall.at.format(time), round(stall.getDurationMillis()), stall.trigger, stall.event});
+        }
+        taStack.setText("");
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 10) / 10.0;
+    }
+}
@@ -0,0 +1,253 @@
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Watches the Swing event dispatch thread for stalls.
+ *
+ * install() pushes an EventQueue that times every event dispatch into a
+ * histogram. A daemon thread checks the dispatch in progress every half
+ * threshold; once one has run longer than cloudkitchen.edtStallMs (default
+ * 250) it captures the EDT stack and names the panel method on it (e.g.
+ * ReportPanel.loadReport), and the stall is recorded with its full duration
+ * when the dispatch finishes. The last MAX_STALLS stalls are kept.
+ *
+ * A modal dialog runs a nested event loop inside the dispatch that opened it,
+ * so time spent in a nested loop is not counted against the outer dispatch.
+ * Results are shown in DiagnosticsDialog and can be written out with
+ * writeReport.
+ */
+public class EdtWatchdog {
+
+    public static final long STALL_THRESHOLD_MS = Long.getLong("cloudkitchen.edtStallMs", 250);
+    private static final int MAX_STALLS = 100;
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /** One event dispatch that ran over the threshold */
+    public static class Stall {
+        public final LocalDateTime at;
+        public final String event;
+        public final String trigger;
+        public final StackTraceElement[] stack;
+        long durationNanos;
+
+        Stall(String event, String trigger, StackTraceElement[] stack) {
+            this.at = LocalDateTime.now();
+            this.event = event;
+            this.trigger = trigger;
+            this.stack = stack;
+        }
+
+        public double getDurationMillis() {
+            return durationNanos / 1e6;
+        }
+    }
+
+    // The dispatch in progress on the EDT; parent is the dispatch a modal loop is nested in
+    private static class Dispatch {
+        final Dispatch parent;
+        final AWTEvent event;
+        final long start = System.nanoTime();
+        volatile long runningSince = start;
+        volatile Stall stall = null;
+        boolean nested = false;
+
+        Dispatch(Dispatch parent, AWTEvent event) {
+            this.parent = parent;
+            this.event = event;
+        }
+    }
+
+    private static volatile Dispatch current = null;
+    private static volatile Thread edt = null;
+    private static boolean installed = false;
+
+    // Guarded by the class lock
+    private static final LatencyHistogram dispatches = new LatencyHistogram();
+    private static final LatencyHistogram stallDurations = new LatencyHistogram();
+    private static final Deque<Stall> stalls = new ArrayDeque<>();
+    private static long nestedLoops = 0;
+
+    /** Start watching; call once, before the first window is shown */
+    public static synchronized void install() {
+        if (installed) return;
+        installed = true;
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(new MonitoredQueue());
+
+        Thread watcher = new Thread(EdtWatchdog::watch, "edt-watchdog");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private static class MonitoredQueue extends EventQueue {
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            Dispatch parent = current;
+            if (parent != null) {
+                parent.nested = true;
+            }
+            Dispatch dispatch = new Dispatch(parent, event);
+            edt = Thread.currentThread();
+            current = dispatch;
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                current = parent;
+                if (parent != null) {
+                    // The outer dispatch only resumes now; it was waiting on the nested loop
+                    parent.runningSince = System.nanoTime();
+                }
+                finish(dispatch);
+            }
+        }
+    }
+
+    private static synchronized void finish(Dispatch dispatch) {
+        long nanos = System.nanoTime() - dispatch.start;
+        if (dispatch.nested) {
+            // Includes however long a modal dialog was open: not a measure of EDT work
+            nestedLoops++;
+        } else {
+            dispatches.record(nanos);
+        }
+
+        Stall stall = dispatch.stall;
+        if (stall != null) {
+            stall.durationNanos = dispatch.nested ? System.nanoTime() - dispatch.runningSince : nanos;
+            stallDurations.record(stall.durationNanos);
+        }
+    }
+
+    private static void watch() {
+        long interval = Math.max(20, STALL_THRESHOLD_MS / 2);
+        while (true) {
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            Dispatch dispatch = current;
+            Thread thread = edt;
+            if (dispatch == null || thread == null || dispatch.stall != null) continue;
+            if (System.nanoTime() - dispatch.runningSince < STALL_THRESHOLD_MS * 1_000_000) continue;
+
+            StackTraceElement[] stack = thread.getStackTrace();
+            if (current != dispatch) continue;
+            if (isWaitingForEvents(stack)) {
+                // A modal dialog's loop sitting idle between events
+                dispatch.runningSince = System.nanoTime();
+                continue;
+            }
+
+            Stall stall = new Stall(describe(dispatch.event), trigger(stack), stack);
+            dispatch.stall = stall;
+            synchronized (EdtWatchdog.class) {
+                stalls.addLast(stall);
+                if (stalls.size() > MAX_STALLS) {
+                    stalls.removeFirst();
+                }
+            }
+        }
+    }
+
+    private static boolean isWaitingForEvents(StackTraceElement[] stack) {
+        for (StackTraceElement frame : stack) {
+            if (frame.getClassName().equals("java.awt.EventQueue") && frame.getMethodName().equals("getNextEvent")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // First panel method on the stack, lambdas reported as the method that created them
+    private static String trigger(StackTraceElement[] stack) {
+        String first = null;
+        for (StackTraceElement frame : stack) {
+            String cls = frame.getClassName();
+            if (cls.startsWith("java.") || cls.startsWith("javax.") || cls.startsWith("jdk.")
+                    || cls.startsWith("sun.") || cls.startsWith("com.") || cls.startsWith("EdtWatchdog")) continue;
+
+            String method = frame.getMethodName();
+            if (method.startsWith("lambda$")) {
+                int end = method.indexOf('$', "lambda$".length());
+                method = end > 0 ? method.substring("lambda$".length(), end) : method;
+                int dollar = cls.indexOf('$');
+                cls = dollar > 0 ? cls.substring(0, dollar) : cls;
+            }
+            String name = cls + "." + method;
+            if (cls.endsWith("Panel") || cls.contains("Panel$")) return name;
+            if (first == null) first = name;
+        }
+        return first != null ? first : "(Swing internals)";
+    }
+
+    private static String describe(AWTEvent event) {
+        Object source = event.getSource();
+        return event.getClass().getSimpleName() + (source != null ? " on " + source.getClass().getSimpleName() : "");
+    }
+
+    // ===== RESULTS =====
+    public static synchronized List<Stall> getStalls() {
+        return new ArrayList<>(stalls);
+    }
+
+    public static synchronized String summary() {
+        return String.format("%d events dispatched (mean %.1f ms, p95 %.0f ms, max %.0f ms), %d stalls over %d ms, %d modal loops",
+                dispatches.getCount(), dispatches.meanMillis(), dispatches.percentileMillis(95), dispatches.maxMillis(),
+                stallDurations.getCount(), STALL_THRESHOLD_MS, nestedLoops);
+    }
+
+    public static synchronized String dispatchBuckets() {
+        return dispatches.buckets();
+    }
+
+    public static synchronized String stallBuckets() {
+        return stallDurations.buckets();
+    }
+
+    public static synchronized void reset() {
+        dispatches.clear();
+        stallDurations.clear();
+        stalls.clear();
+        nestedLoops = 0;
+    }
+
+    /** Write the histograms and every recorded stall with its EDT stack as plain text */
+    public static void writeReport(File file) throws IOException {
+        String summary;
+        String dispatchBuckets;
+        String stallBuckets;
+        List<Stall> recorded;
+        synchronized (EdtWatchdog.class) {
+            summary = summary();
+            dispatchBuckets = dispatchBuckets();
+            stallBuckets = stallBuckets();
+            recorded = getStalls();
+        }
+
+        try (PrintWriter out = new PrintWriter(file, "UTF-8")) {
+            out.println("EDT responsiveness report, " + LocalDateTime.now().format(TIME));
+            out.println(summary);
+            out.println();
+            out.println("Event dispatch times: " + dispatchBuckets);
+            out.println("Stall durations:      " + stallBuckets);
+            for (Stall stall : recorded) {
+                out.println();
+                out.printf("%s  %.0f ms  %s  (%s)%n", stall.at.format(TIME), stall.getDurationMillis(), stall.trigger, stall.event);
+                for (StackTraceElement frame : stall.stack) {
+                    out.println("    at " + frame);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+/**
+ * In-memory text filter that reuses its previous result.
+ *
+ * When the new query extends the previous one ("ric" -> "rice"), every match
+ * must already be in the previous matches, so only those are rescanned.
+ * Any other change (deleting characters, a new item list) scans all items.
+ */
+public class IncrementalFilter<T> {
+
+    // Called with the lower-cased query
+    private final BiPredicate<T, String> matcher;
+
+    private List<T> items = new ArrayList<>();
+    private String lastQuery = "";
+    private List<T> lastMatches = items;
+
+    public IncrementalFilter(BiPredicate<T, String> matcher) {
+        this.matcher = matcher;
+    }
+
+    /** Replace the items being searched; the next filter() scans all of them */
+    public void setItems(List<T> items) {
+        this.items = items;
+        lastQuery = "";
+        lastMatches = items;
+    }
+
+    /** Items matching query; an empty query matches everything */
+    public List<T> filter(String query) {
+        String q = query.trim().toLowerCase();
+        if (q.equals(lastQuery)) {
+            return lastMatches;
+        }
+        if (q.isEmpty()) {
+            lastQuery = q;
+            lastMatches = items;
+            return items;
+        }
+
+        List<T> source = q.startsWith(lastQuery) ? lastMatches : items;
+        List<T> matches = new ArrayList<>();
+        for (T item : source) {
+            if (matcher.test(item, q)) {
+                matches.add(item);
+            }
+        }
+
+        lastQuery = q;
+        lastMatches = matches;
+        return matches;
+    }
+}
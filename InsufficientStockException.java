@@ -0,0 +1,28 @@
+import java.math.BigDecimal;
+
+/**
+ * Thrown by StockLedger.recordMovement when an OUT movement would take a
+ * product's stock below zero. The check runs under a row lock on the
+ * product's StockBalance rows, so it holds even with several terminals
+ * selling the same product at once.
+ */
+public class InsufficientStockException extends java.sql.SQLException {
+
+    private final BigDecimal available;
+    private final BigDecimal requested;
+
+    public InsufficientStockException(int productId, BigDecimal available, BigDecimal requested) {
+        super(String.format("Insufficient stock for product #%d: available %.2f, requested %.2f",
+                productId, available, requested));
+        this.available = available;
+        this.requested = requested;
+    }
+
+    public BigDecimal getAvailable() {
+        return available;
+    }
+
+    public BigDecimal getRequested() {
+        return requested;
+    }
+}
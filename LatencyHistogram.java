@@ -0,0 +1,88 @@
+import java.util.Arrays;
+
+/**
+ * Fixed-bucket latency histogram, cheap enough to update on every query or
+ * event. Buckets are upper bounds in milliseconds on a roughly 1-2-5 scale;
+ * percentiles are reported as the upper bound of the bucket they fall in.
+ * Not thread-safe: callers synchronize.
+ */
+public class LatencyHistogram {
+
+    static final long[] BOUNDS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000};
+
+    // counts[i] holds samples <= BOUNDS_MS[i]; the last slot holds everything slower
+    private final long[] counts = new long[BOUNDS_MS.length + 1];
+    private long count = 0;
+    private long totalNanos = 0;
+    private long maxNanos = 0;
+
+    public void record(long nanos) {
+        long ms = nanos / 1_000_000;
+        int i = 0;
+        while (i < BOUNDS_MS.length && ms > BOUNDS_MS[i]) {
+            i++;
+        }
+        counts[i]++;
+        count++;
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    /** Add other's samples to this histogram */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        totalNanos += other.totalNanos;
+        maxNanos = Math.max(maxNanos, other.maxNanos);
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double meanMillis() {
+        return count == 0 ? 0 : totalNanos / 1e6 / count;
+    }
+
+    public double maxMillis() {
+        return maxNanos / 1e6;
+    }
+
+    public double totalMillis() {
+        return totalNanos / 1e6;
+    }
+
+    /** Upper bound in ms of the bucket holding the p-th percentile (0-100); the max for the overflow bucket */
+    public double percentileMillis(double p) {
+        if (count == 0) return 0;
+        long rank = (long) Math.ceil(p / 100.0 * count);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i < BOUNDS_MS.length ? Math.min(BOUNDS_MS[i], maxMillis()) : maxMillis();
+            }
+        }
+        return maxMillis();
+    }
+
+    /** Bucket counts as "<=1ms:3 <=2ms:0 ... >5000ms:0" */
+    public String buckets() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < counts.length; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(i < BOUNDS_MS.length ? "<=" + BOUNDS_MS[i] : ">" + BOUNDS_MS[BOUNDS_MS.length - 1])
+                    .append("ms:").append(counts[i]);
+        }
+        return sb.toString();
+    }
+}
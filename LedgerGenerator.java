@@ -0,0 +1,409 @@
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.sql.*;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Generates a synthetic but plausible stock history for load testing.
+ *
+ * Creates the requested number of locations, suppliers and products, then walks
+ * day by day through the requested years. Each product is sold several times a
+ * day with seasonal and weekend demand, restocked from its supplier when it
+ * falls to its reorder level, and occasionally returned by customers or sent
+ * back to the supplier. Stock is tracked as the history is written, so it never
+ * goes negative, and movements come out in date order like real data.
+ *
+ *   java LedgerGenerator [--products N] [--locations N] [--suppliers N]
+ *                        [--years N] [--sales-per-day N] [--seed N] [--csv dir]
+ *
+ * By default movements are streamed into StockMovement with multi-row INSERTs and
+ * StockBalance / StockMovementMonthly are rebuilt at the end. With --csv dir they
+ * are written to dir/StockMovement.tsv together with a load.sql that LOAD DATA's
+ * them; run "java StockLedger rebuild" after loading. Reference rows are always
+ * inserted directly, so point DBUtils at the database you are going to load.
+ */
+public class LedgerGenerator {
+
+    private static final int BATCH_ROWS = 1000;
+    private static final int COMMIT_EVERY_BATCHES = 50;
+    private static final String[] CATEGORIES = {"Ingredient", "Beverage", "Packaging", "Kitchen Supply"};
+    private static final String[] UNITS = {"kg", "liters", "pcs", "packs"};
+    private static final String[] BASE_NAMES = {
+            "Rice", "Chicken", "Beef", "Pork", "Fish Fillet", "Shrimp", "Egg", "Flour", "Sugar", "Salt",
+            "Onion", "Garlic", "Tomato", "Potato", "Carrot", "Cabbage", "Cheese", "Butter", "Milk", "Cream",
+            "Olive Oil", "Soy Sauce", "Vinegar", "Pepper", "Noodles", "Bread", "Soda Can", "Bottled Water",
+            "Iced Tea", "Coffee Beans", "Disposable Box", "Paper Bag", "Plastic Cutlery", "Napkins", "Cups"
+    };
+    private static final String[] PRODUCT_RETURN_REASONS = {"Customer return", "Wrong item delivered", "Order cancelled"};
+    private static final String[] SUPPLIER_RETURN_REASONS = {"Damaged", "Expired", "Quality issue"};
+
+    private int products = 200;
+    private int locations = 5;
+    private int suppliers = 20;
+    private int years = 3;
+    private double salesPerDay = 4;
+    private long seed = 42;
+    private File csvDir;
+
+    private Random random;
+
+    // Per product, indexed 0..products-1. Quantities and prices are kept in hundredths.
+    private int[] productIds;
+    private int[] homeLocation;
+    private int[] supplierOf;
+    private long[] reorderLevel;
+    private long[] dailyDemand;
+    private long[] unitPrice;
+    private double[] seasonAmplitude;
+    private int[] seasonPhase;
+    private long[] onHand;
+
+    public static void main(String[] args) throws SQLException, IOException {
+        LedgerGenerator generator = new LedgerGenerator();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--products" -> generator.products = Integer.parseInt(args[++i]);
+                case "--locations" -> generator.locations = Integer.parseInt(args[++i]);
+                case "--suppliers" -> generator.suppliers = Integer.parseInt(args[++i]);
+                case "--years" -> generator.years = Integer.parseInt(args[++i]);
+                case "--sales-per-day" -> generator.salesPerDay = Double.parseDouble(args[++i]);
+                case "--seed" -> generator.seed = Long.parseLong(args[++i]);
+                case "--csv" -> generator.csvDir = new File(args[++i]);
+                default -> {
+                    System.err.println("Usage: java LedgerGenerator [--products N] [--locations N] [--suppliers N]"
+                            + " [--years N] [--sales-per-day N] [--seed N] [--csv dir]");
+                    System.exit(2);
+                }
+            }
+        }
+        generator.run();
+    }
+
+    private void run() throws SQLException, IOException {
+        random = new Random(seed);
+        LocalDate end = LocalDate.now();
+        LocalDate start = end.minusYears(years);
+        long days = end.toEpochDay() - start.toEpochDay();
+        System.out.printf("Generating %d products over %d days, roughly %,d movements%n",
+                products, days, (long) (products * days * (salesPerDay + 0.3)));
+
+        try (Connection conn = DBUtils.getConn()) {
+            createReferenceData(conn);
+
+            long started = System.currentTimeMillis();
+            long rows;
+            try (MovementSink sink = csvDir != null ? new TsvSink(csvDir) : new InsertSink(conn)) {
+                rows = generateHistory(sink, start, end, started);
+            }
+            double seconds = (System.currentTimeMillis() - started) / 1000.0;
+            System.out.printf("Wrote %,d movements in %.1f s (%,.0f rows/s)%n", rows, seconds, rows / Math.max(seconds, 0.001));
+
+            if (csvDir == null) {
+                System.out.println("Rebuilding StockBalance and StockMovementMonthly...");
+                StockLedger.rebuildBalances(conn);
+            } else {
+                System.out.println("Load with: mysql --local-infile=1 CloudKitchenInventory_db < "
+                        + new File(csvDir, "load.sql").getPath());
+                System.out.println("Then run: java StockLedger rebuild");
+            }
+        }
+    }
+
+    // ===== REFERENCE DATA =====
+    private void createReferenceData(Connection conn) throws SQLException {
+        int[] locationIds = new int[locations];
+        int[] supplierIds = new int[suppliers];
+
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO StorageLocation (location_name, area_description, capacity, temperature_control) VALUES (?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < locations; i++) {
+                ps.setString(1, "Generated Location " + (i + 1));
+                ps.setString(2, "Load test storage area");
+                ps.setBigDecimal(3, java.math.BigDecimal.valueOf(500 + random.nextInt(2000)));
+                ps.setString(4, i % 3 == 0 ? "Chilled" : i % 3 == 1 ? "Frozen" : "None");
+                locationIds[i] = insertAndGetKey(ps);
+            }
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO Supplier (supplier_name, contact_person, contact_number, email, address, supplier_status) VALUES (?, ?, ?, ?, ?, 'Active')",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < suppliers; i++) {
+                ps.setString(1, "Generated Supplier " + (i + 1));
+                ps.setString(2, "Contact " + (i + 1));
+                ps.setString(3, String.format("09%09d", random.nextInt(1_000_000_000)));
+                ps.setString(4, "supplier" + (i + 1) + "@example.com");
+                ps.setString(5, (i + 1) + " Warehouse Rd.");
+                supplierIds[i] = insertAndGetKey(ps);
+            }
+        }
+
+        productIds = new int[products];
+        homeLocation = new int[products];
+        supplierOf = new int[products];
+        reorderLevel = new long[products];
+        dailyDemand = new long[products];
+        unitPrice = new long[products];
+        seasonAmplitude = new double[products];
+        seasonPhase = new int[products];
+        onHand = new long[products];
+
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO Product (product_name, description, category, unit_of_measure, reorder_level, supplier_id, location_id, product_status) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, 'Active')",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < products; i++) {
+                int kind = random.nextInt(CATEGORIES.length);
+                homeLocation[i] = locationIds[random.nextInt(locations)];
+                supplierOf[i] = supplierIds[random.nextInt(suppliers)];
+                dailyDemand[i] = 100 + random.nextInt(2000);               // 1.00 - 21.00 units a day
+                reorderLevel[i] = dailyDemand[i] * (2 + random.nextInt(4)); // 2-5 days of demand
+                unitPrice[i] = 2000 + random.nextInt(30000);                // 20.00 - 320.00 per unit
+                seasonAmplitude[i] = 0.1 + random.nextDouble() * 0.4;
+                seasonPhase[i] = random.nextInt(365);
+                onHand[i] = reorderLevel[i] * 3;
+
+                ps.setString(1, BASE_NAMES[i % BASE_NAMES.length] + " #" + (i / BASE_NAMES.length + 1));
+                ps.setString(2, "Generated " + CATEGORIES[kind].toLowerCase());
+                ps.setString(3, CATEGORIES[kind]);
+                ps.setString(4, UNITS[kind]);
+                ps.setString(5, hundredths(reorderLevel[i]));
+                ps.setInt(6, supplierOf[i]);
+                ps.setInt(7, homeLocation[i]);
+                productIds[i] = insertAndGetKey(ps);
+            }
+        }
+        System.out.printf("Created %d locations, %d suppliers, %d products%n", locations, suppliers, products);
+    }
+
+    private static int insertAndGetKey(PreparedStatement ps) throws SQLException {
+        ps.executeUpdate();
+        try (ResultSet keys = ps.getGeneratedKeys()) {
+            keys.next();
+            return keys.getInt(1);
+        }
+    }
+
+    // ===== HISTORY =====
+    private long generateHistory(MovementSink sink, LocalDate start, LocalDate end, long started) throws SQLException, IOException {
+        long rows = 0;
+        long nextReport = 1_000_000;
+
+        // Opening stock for every product on the first day
+        for (int p = 0; p < products; p++) {
+            sink.add(productIds[p], homeLocation[p], supplierOf[p], onHand[p], -1, "IN", StockLedger.RESTOCK, start, "Product Restock");
+            rows++;
+        }
+
+        for (LocalDate date = start; date.isBefore(end); date = date.plusDays(1)) {
+            DayOfWeek dow = date.getDayOfWeek();
+            double weekday = dow == DayOfWeek.FRIDAY || dow == DayOfWeek.SATURDAY ? 1.3 : dow == DayOfWeek.MONDAY ? 0.85 : 1.0;
+
+            for (int p = 0; p < products; p++) {
+                double season = 1 + seasonAmplitude[p] * Math.sin(2 * Math.PI * (date.getDayOfYear() + seasonPhase[p]) / 365.0);
+                long demand = (long) (dailyDemand[p] * season * weekday * (0.7 + random.nextDouble() * 0.6));
+
+                int sales = poisson(salesPerDay * season * weekday);
+                for (int s = 0; s < sales && demand > 0; s++) {
+                    long qty = Math.max(1, demand / (sales - s));
+                    if (qty > onHand[p]) break; // stock-out: the kitchen cannot sell what it does not have
+                    demand -= qty;
+                    onHand[p] -= qty;
+                    long amount = qty * unitPrice[p] / 100;
+                    sink.add(productIds[p], homeLocation[p], 0, qty, amount, "OUT", StockLedger.SALE, date, "Sales");
+                    rows++;
+                }
+
+                if (random.nextDouble() < 0.01) {
+                    long qty = Math.max(1, dailyDemand[p] / 10);
+                    onHand[p] += qty;
+                    sink.add(productIds[p], homeLocation[p], 0, qty, -1, "IN", StockLedger.PRODUCT_RETURN, date,
+                            "Product Return: " + PRODUCT_RETURN_REASONS[random.nextInt(PRODUCT_RETURN_REASONS.length)]);
+                    rows++;
+                }
+
+                if (random.nextDouble() < 0.005) {
+                    long qty = Math.min(onHand[p], Math.max(1, dailyDemand[p] / 4));
+                    if (qty > 0) {
+                        onHand[p] -= qty;
+                        sink.add(productIds[p], homeLocation[p], supplierOf[p], qty, -1, "OUT", StockLedger.SUPPLIER_RETURN, date,
+                                "Supplier Return: " + SUPPLIER_RETURN_REASONS[random.nextInt(SUPPLIER_RETURN_REASONS.length)]);
+                        rows++;
+                    }
+                }
+
+                if (onHand[p] <= reorderLevel[p]) {
+                    // Order about a week of demand on top of the reorder level
+                    long qty = reorderLevel[p] + dailyDemand[p] * (5 + random.nextInt(5));
+                    onHand[p] += qty;
+                    sink.add(productIds[p], homeLocation[p], supplierOf[p], qty, -1, "IN", StockLedger.RESTOCK, date, "Product Restock");
+                    rows++;
+                }
+            }
+
+            if (rows >= nextReport) {
+                double seconds = (System.currentTimeMillis() - started) / 1000.0;
+                System.out.printf("  %,d rows (%s), %,.0f rows/s%n", rows, date, rows / Math.max(seconds, 0.001));
+                nextReport += 1_000_000;
+            }
+        }
+        return rows;
+    }
+
+    private int poisson(double mean) {
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            count++;
+            product *= random.nextDouble();
+        }
+        return count;
+    }
+
+    private static String hundredths(long value) {
+        return value / 100 + "." + (value % 100 < 10 ? "0" : "") + value % 100;
+    }
+
+    // ===== SINKS =====
+    private interface MovementSink extends AutoCloseable {
+        // supplierId 0 = no supplier, amount -1 = no amount
+        void add(int productId, int locationId, int supplierId, long qty, long amount,
+                 String type, String subtype, LocalDate date, String reason) throws SQLException, IOException;
+
+        @Override
+        void close() throws SQLException, IOException;
+    }
+
+    private static final String MOVEMENT_COLUMNS =
+            "product_id, location_id, supplier_id, quantity, amount, movement_type, movement_subtype, movement_date, reason";
+
+    // Multi-row INSERTs of BATCH_ROWS rows, committed every COMMIT_EVERY_BATCHES statements
+    private static class InsertSink implements MovementSink {
+        private final Connection conn;
+        private final PreparedStatement batch;
+        private final Object[] pending = new Object[BATCH_ROWS * 9];
+        private int pendingRows = 0;
+        private int uncommitted = 0;
+
+        InsertSink(Connection conn) throws SQLException {
+            this.conn = conn;
+            StringBuilder sql = new StringBuilder("INSERT INTO StockMovement (" + MOVEMENT_COLUMNS + ") VALUES ");
+            for (int i = 0; i < BATCH_ROWS; i++) {
+                sql.append(i == 0 ? "" : ",").append("(?, ?, ?, ?, ?, ?, ?, ?, ?)");
+            }
+            conn.setAutoCommit(false);
+            batch = conn.prepareStatement(sql.toString());
+        }
+
+        @Override
+        public void add(int productId, int locationId, int supplierId, long qty, long amount,
+                        String type, String subtype, LocalDate date, String reason) throws SQLException {
+            int i = pendingRows * 9;
+            pending[i] = productId;
+            pending[i + 1] = locationId;
+            pending[i + 2] = supplierId == 0 ? null : supplierId;
+            pending[i + 3] = hundredths(qty);
+            pending[i + 4] = amount < 0 ? null : hundredths(amount);
+            pending[i + 5] = type;
+            pending[i + 6] = subtype;
+            pending[i + 7] = Date.valueOf(date);
+            pending[i + 8] = reason;
+            if (++pendingRows == BATCH_ROWS) {
+                for (int p = 0; p < pending.length; p++) {
+                    batch.setObject(p + 1, pending[p]);
+                }
+                batch.executeUpdate();
+                pendingRows = 0;
+                if (++uncommitted == COMMIT_EVERY_BATCHES) {
+                    conn.commit();
+                    uncommitted = 0;
+                }
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (pendingRows > 0) {
+                    try (PreparedStatement single = conn.prepareStatement(
+                            "INSERT INTO StockMovement (" + MOVEMENT_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                        for (int r = 0; r < pendingRows; r++) {
+                            for (int c = 0; c < 9; c++) {
+                                single.setObject(c + 1, pending[r * 9 + c]);
+                            }
+                            single.addBatch();
+                        }
+                        single.executeBatch();
+                    }
+                }
+                conn.commit();
+            } finally {
+                batch.close();
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    // Tab-separated file for LOAD DATA, plus the script that loads it
+    private static class TsvSink implements MovementSink {
+        private final PrintWriter out;
+
+        TsvSink(File dir) throws IOException {
+            if (!dir.isDirectory() && !dir.mkdirs()) {
+                throw new IOException("Cannot create " + dir);
+            }
+            File data = new File(dir, "StockMovement.tsv");
+            out = new PrintWriter(new BufferedWriter(new FileWriter(data), 1 << 20));
+
+            try (PrintWriter script = new PrintWriter(new FileWriter(new File(dir, "load.sql")))) {
+                script.println("SET foreign_key_checks = 0;");
+                script.println("SET unique_checks = 0;");
+                script.println("LOAD DATA LOCAL INFILE '" + data.getAbsolutePath().replace("\\", "/") + "'");
+                script.println("INTO TABLE StockMovement");
+                script.println("FIELDS TERMINATED BY '\\t' LINES TERMINATED BY '\\n'");
+                script.println("(" + MOVEMENT_COLUMNS + ");");
+                script.println("SET unique_checks = 1;");
+                script.println("SET foreign_key_checks = 1;");
+            }
+        }
+
+        @Override
+        public void add(int productId, int locationId, int supplierId, long qty, long amount,
+                        String type, String subtype, LocalDate date, String reason) {
+            out.print(productId);
+            out.print('\t');
+            out.print(locationId);
+            out.print('\t');
+            out.print(supplierId == 0 ? "\\N" : String.valueOf(supplierId));
+            out.print('\t');
+            out.print(hundredths(qty));
+            out.print('\t');
+            out.print(amount < 0 ? "\\N" : hundredths(amount));
+            out.print('\t');
+            out.print(type);
+            out.print('\t');
+            out.print(subtype);
+            out.print('\t');
+            out.print(date);
+            out.print('\t');
+            out.print(reason);
+            out.print('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            boolean failed = out.checkError(); // flushes
+            out.close();
+            if (failed) {
+                throw new IOException("Failed writing StockMovement.tsv");
+            }
+        }
+    }
+}
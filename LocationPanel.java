@@ -5,6 +5,11 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.sql.*;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class LocationPanel extends JPanel {
 
@@ -27,6 +32,10 @@ public class LocationPanel extends JPanel {
     private JComboBox<LocationItem> cbLocationFilter;
     private JLabel lblProductCount;
     private JLabel lblLowStockCount;
+    // Card order, the order of Catalog.locations()
+    private static final Comparator<LocationData> LOCATION_ORDER = Comparator
+            .comparing((LocationData l) -> l.name, String.CASE_INSENSITIVE_ORDER)
+            .thenComparingInt(l -> l.id);
 
     // Form fields
     private final RoundedTextField tfName = new RoundedTextField(15, new Color(0xEBEBEB));
@@ -35,6 +44,9 @@ public class LocationPanel extends JPanel {
     private final JComboBox<String> cbTemp = new JComboBox<>(new String[]{"None", "Refrigerated", "Freezer"});
 
     private LocationCard selectedLocationCard = null;
+    // A load is running; change events reload instead of patching what it is about to replace
+    private boolean loadingLocations = false;
+    private boolean loadingProducts = false;
 
     public LocationPanel() {
         setLayout(new BorderLayout(10, 10));
@@ -59,6 +71,7 @@ public class LocationPanel extends JPanel {
         add(formPanel, BorderLayout.SOUTH);
 
         loadLocations();
+        subscribeToChanges();
     }
 
     private JPanel createLocationsPanel() {
@@ -192,47 +205,61 @@ public class LocationPanel extends JPanel {
         return panel;
     }
 
-    private void loadLocations() {
-        locationsPanel.removeAll();
-        cbLocationFilter.removeAllItems();
-        cbLocationFilter.addItem(new LocationItem(0, "Select Location", "", BigDecimal.ZERO, ""));
+    /** Reload locations from the database; run by the main window's Refresh Data, after Catalog.reload() */
+    public void refresh() {
+        loadLocations();
+    }
 
-        String sql = "SELECT l.location_id, l.location_name, l.area_description, l.capacity, l.temperature_control, " +
-                "COUNT(p.product_id) as product_count " +
-                "FROM StorageLocation l " +
-                "LEFT JOIN Product p ON l.location_id = p.location_id " +
-                "GROUP BY l.location_id " +
-                "ORDER BY l.location_name";
+    private void loadLocations() {
+        loadingLocations = true;
+        DataLoader.showLoading(locationsPanel, lexendRegular);
+
+        // Locations and their product counts both come from the catalog: no query once it is loaded
+        DataLoader.load(locationsPanel, () -> {
+            Catalog.Snapshot catalog = Catalog.get();
+            Map<Integer, Integer> productCounts = new HashMap<>();
+            for (Catalog.Product product : catalog.products()) {
+                productCounts.merge(product.locationId, 1, Integer::sum);
+            }
 
-        try (Connection conn = DBUtils.getConn();
-             PreparedStatement ps = conn.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
-
-            while (rs.next()) {
-                LocationData location = new LocationData(
-                        rs.getInt("location_id"),
-                        rs.getString("location_name"),
-                        rs.getString("area_description"),
-                        rs.getBigDecimal("capacity"),
-                        rs.getString("temperature_control"),
-                        rs.getInt("product_count")
-                );
-
-                LocationCard card = new LocationCard(location);
-                locationsPanel.add(card);
-                locationsPanel.add(Box.createRigidArea(new Dimension(0, 8)));
-
-                cbLocationFilter.addItem(new LocationItem(
+            List<LocationData> locations = new ArrayList<>();
+            for (Catalog.Location location : catalog.locations()) {
+                locations.add(new LocationData(
                         location.id,
                         location.name,
-                        location.areaDesc,
+                        location.areaDescription,
                         location.capacity,
-                        location.tempControl
+                        location.temperatureControl,
+                        productCounts.getOrDefault(location.id, 0)
                 ));
             }
-
-        } catch (SQLException ex) {
+            return locations;
+        }, locations -> {
+            loadingLocations = false;
+            showLocations(locations);
+        }, ex -> {
+            loadingLocations = false;
             DBUtils.showErr(ex);
+        });
+    }
+
+    private void showLocations(List<LocationData> locations) {
+        locationsPanel.removeAll();
+        cbLocationFilter.removeAllItems();
+        cbLocationFilter.addItem(new LocationItem(0, "Select Location", "", BigDecimal.ZERO, ""));
+
+        for (LocationData location : locations) {
+            LocationCard card = new LocationCard(location);
+            locationsPanel.add(card);
+            locationsPanel.add(Box.createRigidArea(new Dimension(0, 8)));
+
+            cbLocationFilter.addItem(new LocationItem(
+                    location.id,
+                    location.name,
+                    location.areaDesc,
+                    location.capacity,
+                    location.tempControl
+            ));
         }
 
         locationsPanel.revalidate();
@@ -240,10 +267,11 @@ public class LocationPanel extends JPanel {
     }
 
     private void loadProductsForLocation() {
-        productsPanel.removeAll();
-
         LocationItem selected = (LocationItem) cbLocationFilter.getSelectedItem();
         if (selected == null || selected.id == 0) {
+            DataLoader.cancel(productsPanel);
+            loadingProducts = false;
+            productsPanel.removeAll();
             JLabel noSelection = new JLabel("Select a location to view products");
             noSelection.setFont(lexendRegular.deriveFont(14f));
             noSelection.setForeground(new Color(0x888888));
@@ -258,63 +286,67 @@ public class LocationPanel extends JPanel {
             return;
         }
 
-        String sql = "SELECT p.product_id, p.product_name, p.category, p.unit_of_measure, " +
-                "p.reorder_level, s.supplier_name, " +
-                "COALESCE(SUM(CASE WHEN sm.movement_type = 'IN' THEN sm.quantity ELSE 0 END) - " +
-                "SUM(CASE WHEN sm.movement_type = 'OUT' THEN sm.quantity ELSE 0 END), 0) AS current_stock " +
-                "FROM Product p " +
-                "LEFT JOIN Supplier s ON p.supplier_id = s.supplier_id " +
-                "LEFT JOIN StockMovement sm ON p.product_id = sm.product_id " +
-                "WHERE p.location_id = ? " +
-                "GROUP BY p.product_id " +
-                "ORDER BY p.product_name";
-
-        int productCount = 0;
-        int lowStockCount = 0;
-
-        try (Connection conn = DBUtils.getConn();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setInt(1, selected.id);
-
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    ProductData product = new ProductData(
-                            rs.getInt("product_id"),
-                            rs.getString("product_name"),
-                            rs.getString("category"),
-                            rs.getString("unit_of_measure"),
-                            rs.getBigDecimal("reorder_level"),
-                            rs.getString("supplier_name"),
-                            rs.getBigDecimal("current_stock")
-                    );
-
-                    ProductCard card = new ProductCard(product);
-                    productsPanel.add(card);
-                    productsPanel.add(Box.createRigidArea(new Dimension(0, 8)));
-
-                    productCount++;
-                    if (product.currentStock.compareTo(product.reorderLevel) <= 0) {
-                        lowStockCount++;
+        loadingProducts = true;
+        DataLoader.showLoading(productsPanel, lexendRegular);
+        int locationId = selected.id;
+
+        DataLoader.load(productsPanel, () -> {
+            Catalog.Snapshot catalog = Catalog.get();
+            List<ProductData> products = new ArrayList<>();
+            try (Connection conn = DBUtils.getConn();
+                 PreparedStatement ps = conn.prepareStatement(QueryRepository.LOCATION_PRODUCTS)) {
+                DataLoader.watch(ps);
+                ps.setInt(1, locationId);
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        products.add(new ProductData(
+                                rs.getInt("product_id"),
+                                rs.getString("product_name"),
+                                rs.getString("category"),
+                                rs.getString("unit_of_measure"),
+                                rs.getBigDecimal("reorder_level"),
+                                catalog.supplierName(rs.getInt("supplier_id")),
+                                rs.getBigDecimal("current_stock")
+                        ));
                     }
                 }
             }
+            return products;
+        }, products -> {
+            loadingProducts = false;
+            showProductsForLocation(products);
+        }, ex -> {
+            loadingProducts = false;
+            DBUtils.showErr(ex);
+        });
+    }
+
+    private void showProductsForLocation(List<ProductData> products) {
+        productsPanel.removeAll();
 
-            lblProductCount.setText("Products: " + productCount);
-            lblLowStockCount.setText("Low Stock: " + lowStockCount);
-
-            if (productCount == 0) {
-                JLabel noProducts = new JLabel("No products in this location");
-                noProducts.setFont(lexendRegular.deriveFont(14f));
-                noProducts.setForeground(new Color(0x888888));
-                noProducts.setAlignmentX(Component.CENTER_ALIGNMENT);
-                productsPanel.add(Box.createVerticalGlue());
-                productsPanel.add(noProducts);
-                productsPanel.add(Box.createVerticalGlue());
+        int lowStockCount = 0;
+        for (ProductData product : products) {
+            ProductCard card = new ProductCard(product);
+            productsPanel.add(card);
+            productsPanel.add(Box.createRigidArea(new Dimension(0, 8)));
+
+            if (product.currentStock.compareTo(product.reorderLevel) <= 0) {
+                lowStockCount++;
             }
+        }
 
-        } catch (SQLException ex) {
-            DBUtils.showErr(ex);
+        lblProductCount.setText("Products: " + products.size());
+        lblLowStockCount.setText("Low Stock: " + lowStockCount);
+
+        if (products.isEmpty()) {
+            JLabel noProducts = new JLabel("No products in this location");
+            noProducts.setFont(lexendRegular.deriveFont(14f));
+            noProducts.setForeground(new Color(0x888888));
+            noProducts.setAlignmentX(Component.CENTER_ALIGNMENT);
+            productsPanel.add(Box.createVerticalGlue());
+            productsPanel.add(noProducts);
+            productsPanel.add(Box.createVerticalGlue());
         }
 
         productsPanel.revalidate();
@@ -333,16 +365,17 @@ public class LocationPanel extends JPanel {
 
         String sql = "INSERT INTO StorageLocation (location_name, area_description, capacity, temperature_control) VALUES (?,?,?,?)";
         try (Connection conn = DBUtils.getConn();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             ps.setString(1, tfName.getText().trim());
             ps.setString(2, tfAreaDesc.getText().trim());
             ps.setBigDecimal(3, DBUtils.toDecimal(tfCapacity.getText()));
             ps.setString(4, (String) cbTemp.getSelectedItem());
             ps.executeUpdate();
+            int id = DBUtils.generatedKey(ps);
+            ChangeBus.publish(new ChangeBus.LocationChanged(ChangeBus.Kind.INSERTED, id, Catalog.locationChanged(conn, id)));
 
             JOptionPane.showMessageDialog(this, "Location added successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-            loadLocations();
             clearForm();
 
         } catch (SQLException ex) {
@@ -377,10 +410,9 @@ public class LocationPanel extends JPanel {
             ps.setString(4, (String) cbTemp.getSelectedItem());
             ps.setInt(5, id);
             ps.executeUpdate();
+            ChangeBus.publish(new ChangeBus.LocationChanged(ChangeBus.Kind.UPDATED, id, Catalog.locationChanged(conn, id)));
 
             JOptionPane.showMessageDialog(this, "Location updated successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-            loadLocations();
-            loadProductsForLocation();
 
         } catch (SQLException ex) {
             DBUtils.showErr(ex);
@@ -405,13 +437,10 @@ public class LocationPanel extends JPanel {
 
             ps.setInt(1, id);
             ps.executeUpdate();
+            ChangeBus.publish(new ChangeBus.LocationChanged(ChangeBus.Kind.DELETED, id, Catalog.locationChanged(conn, id)));
 
             JOptionPane.showMessageDialog(this, "Location deleted successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-            loadLocations();
             clearForm();
-            productsPanel.removeAll();
-            productsPanel.revalidate();
-            productsPanel.repaint();
 
         } catch (SQLException ex) {
             DBUtils.showErr(ex);
@@ -429,6 +458,182 @@ public class LocationPanel extends JPanel {
         }
     }
 
+    // ===== CHANGE EVENTS =====
+    // Location edits, product moves and stock movements update single cards instead of reloading
+    private void subscribeToChanges() {
+        ChangeBus.subscribe(ChangeBus.LocationChanged.class, this::applyLocationChange);
+        ChangeBus.subscribe(ChangeBus.ProductChanged.class, this::applyProductChange);
+        ChangeBus.subscribe(ChangeBus.MovementsInserted.class, this::applyStockChange);
+        ChangeBus.subscribe(ChangeBus.Reload.class, change -> {
+            if (change.table != DataVersion.Table.SUPPLIER) {
+                refresh();
+            }
+        });
+    }
+
+    private void applyLocationChange(ChangeBus.LocationChanged change) {
+        if (loadingLocations) {
+            // The running load may have read the catalog before this change
+            loadLocations();
+            return;
+        }
+        LocationCard old = findCard(change.id);
+        int itemIndex = findItem(change.id);
+        Catalog.Location location = change.after;
+
+        if (location == null) {
+            if (old != null) {
+                removeCard(old);
+            }
+            if (itemIndex > 0) {
+                // Removing the selected location moves the selection, which reloads the products list
+                cbLocationFilter.removeItemAt(itemIndex);
+            }
+        } else {
+            LocationData data = new LocationData(location.id, location.name, location.areaDescription,
+                    location.capacity, location.temperatureControl, old != null ? old.location.productCount : 0);
+            placeCard(data, old);
+            if (itemIndex > 0) {
+                // Edit the item in place so the selection, and the products shown for it, stay put
+                LocationItem item = cbLocationFilter.getItemAt(itemIndex);
+                item.name = data.name;
+                item.areaDesc = data.areaDesc;
+                item.capacity = data.capacity;
+                item.tempControl = data.tempControl;
+                cbLocationFilter.repaint();
+            } else {
+                cbLocationFilter.insertItemAt(new LocationItem(data.id, data.name, data.areaDesc, data.capacity, data.tempControl),
+                        itemInsertIndex(data));
+            }
+        }
+        locationsPanel.revalidate();
+        locationsPanel.repaint();
+    }
+
+    // A product added, removed or moved changes the count on at most two cards
+    private void applyProductChange(ChangeBus.ProductChanged change) {
+        if (loadingLocations) {
+            // The running load may have counted products before this change
+            loadLocations();
+            return;
+        }
+        Map<Integer, Integer> countDeltas = new HashMap<>();
+        if (change.before != null) {
+            countDeltas.merge(change.before.locationId, -1, Integer::sum);
+        }
+        if (change.after != null) {
+            countDeltas.merge(change.after.locationId, 1, Integer::sum);
+        }
+        for (Map.Entry<Integer, Integer> entry : countDeltas.entrySet()) {
+            LocationCard old = findCard(entry.getKey());
+            if (old == null || entry.getValue() == 0) continue;
+            LocationData location = old.location;
+            placeCard(new LocationData(location.id, location.name, location.areaDesc, location.capacity,
+                    location.tempControl, location.productCount + entry.getValue()), old);
+        }
+        locationsPanel.revalidate();
+        locationsPanel.repaint();
+
+        // Only the shown location's product list needs the new name, category or reorder level
+        LocationItem selected = (LocationItem) cbLocationFilter.getSelectedItem();
+        if (selected != null && selected.id != 0 && (
+                (change.before != null && change.before.locationId == selected.id)
+                        || (change.after != null && change.after.locationId == selected.id))) {
+            loadProductsForLocation();
+        }
+    }
+
+    private void applyStockChange(ChangeBus.MovementsInserted change) {
+        if (loadingProducts) {
+            // The running load may have read the stock before this movement
+            loadProductsForLocation();
+            return;
+        }
+        Map<Integer, BigDecimal> deltas = change.stockDeltas();
+        boolean changed = false;
+        int lowStockCount = 0;
+        for (Component comp : productsPanel.getComponents()) {
+            if (!(comp instanceof ProductCard)) continue;
+            ProductData product = ((ProductCard) comp).product;
+            BigDecimal delta = deltas.get(product.id);
+            if (delta != null) {
+                product.currentStock = product.currentStock.add(delta);
+                int index = productsPanel.getComponentZOrder(comp);
+                productsPanel.remove(index);
+                productsPanel.add(new ProductCard(product), index);
+                changed = true;
+            }
+            if (product.currentStock.compareTo(product.reorderLevel) <= 0) {
+                lowStockCount++;
+            }
+        }
+        if (!changed) return;
+
+        lblLowStockCount.setText("Low Stock: " + lowStockCount);
+        productsPanel.revalidate();
+        productsPanel.repaint();
+    }
+
+    private LocationCard findCard(int locationId) {
+        for (Component comp : locationsPanel.getComponents()) {
+            if (comp instanceof LocationCard && ((LocationCard) comp).location.id == locationId) {
+                return (LocationCard) comp;
+            }
+        }
+        return null;
+    }
+
+    // Add a card for location in name order, in place of old if given; a selected card stays selected
+    private void placeCard(LocationData location, LocationCard old) {
+        boolean selected = old != null && old == selectedLocationCard;
+        if (old != null) {
+            removeCard(old);
+        }
+
+        LocationCard card = new LocationCard(location);
+        int index = 0;
+        for (Component comp : locationsPanel.getComponents()) {
+            if (comp instanceof LocationCard && LOCATION_ORDER.compare(((LocationCard) comp).location, location) < 0) {
+                index = locationsPanel.getComponentZOrder(comp) + 2;
+            }
+        }
+        locationsPanel.add(card, index);
+        locationsPanel.add(Box.createRigidArea(new Dimension(0, 8)), index + 1);
+        if (selected) {
+            card.setSelected(true);
+            selectedLocationCard = card;
+        }
+    }
+
+    // Remove a card and the gap after it
+    private void removeCard(LocationCard card) {
+        int index = locationsPanel.getComponentZOrder(card);
+        locationsPanel.remove(index + 1);
+        locationsPanel.remove(index);
+        if (card == selectedLocationCard) {
+            selectedLocationCard = null;
+        }
+    }
+
+    // Index of the location in the filter combo; 0 ("Select Location") when it is not there
+    private int findItem(int locationId) {
+        for (int i = 1; i < cbLocationFilter.getItemCount(); i++) {
+            if (cbLocationFilter.getItemAt(i).id == locationId) return i;
+        }
+        return 0;
+    }
+
+    private int itemInsertIndex(LocationData location) {
+        int index = 1;
+        while (index < cbLocationFilter.getItemCount()) {
+            LocationItem item = cbLocationFilter.getItemAt(index);
+            int order = String.CASE_INSENSITIVE_ORDER.compare(item.name, location.name);
+            if (order > 0 || (order == 0 && item.id > location.id)) break;
+            index++;
+        }
+        return index;
+    }
+
     // ===== LOCATION CARD =====
     private class LocationCard extends JPanel {
         private final LocationData location;
@@ -8,14 +8,25 @@ import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.io.File;
+import java.io.IOException;
 import java.sql.*;
 import java.time.LocalDate;
 import java.math.BigDecimal;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import javax.swing.filechooser.FileNameExtensionFilter;
 
 public class MovementPanel extends JPanel {
-    private final ReportPanel reportPanel;
     private final Font lexendRegular = CloudKitchenApp.FontUtils.loadFont("/resources/fonts/lexend-regular.ttf", 12f);
     private final Font lexendBold = CloudKitchenApp.FontUtils.loadFont("/resources/fonts/lexend-bold.ttf", 14f);
     private final Color ACCENT_COLOR = new Color(0xFF914D);
@@ -31,6 +42,8 @@ public class MovementPanel extends JPanel {
     private JPanel productsPanel;
     private JScrollPane productsScrollPane;
     private ProductCard selectedProductCard = null;
+    private boolean loadingCards = false;
+    private boolean cardsLoaded = false;
     private final JComboBox<Item> cbRestockProduct = new JComboBox<>();
     private final JComboBox<Item> cbRestockSupplier = new JComboBox<>();
     private final JComboBox<Item> cbRestockLocation = new JComboBox<>();
@@ -59,9 +72,9 @@ public class MovementPanel extends JPanel {
     private Color supplierReturnColor = new Color(0xFF9800);
     private Color salesColor = new Color(0x9C27B0);
     private RoundedTextField searchField;
+    private final IncrementalFilter<ProductData> productFilter = new IncrementalFilter<>(MovementPanel::matchesSearch);
 
-    public MovementPanel(ReportPanel rp) {
-        this.reportPanel = rp;
+    public MovementPanel() {
         setLayout(new BorderLayout(10, 10));
         setBackground(BG_COLOR);
 
@@ -115,8 +128,8 @@ public class MovementPanel extends JPanel {
         btnProductReturn.addActionListener(e -> showForm("PRETURN"));
         btnSupplierReturn.addActionListener(e -> showForm("SRETURN"));
         btnSalesTransaction.addActionListener(e -> showForm("SALES"));
-        loadComboData();
         showForm("EMPTY");
+        subscribeToChanges();
     }
 
     private void createProductsPanel() {
@@ -130,17 +143,7 @@ public class MovementPanel extends JPanel {
         searchField = new RoundedTextField(20);
         searchField.setPlaceholder("Search products...");
         searchField.setPreferredSize(new Dimension(250, 35));
-        searchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
-            public void changedUpdate(javax.swing.event.DocumentEvent e) {
-                filterProducts(searchField.getText());
-            }
-            public void removeUpdate(javax.swing.event.DocumentEvent e) {
-                filterProducts(searchField.getText());
-            }
-            public void insertUpdate(javax.swing.event.DocumentEvent e) {
-                filterProducts(searchField.getText());
-            }
-        });
+        new SearchDebouncer(searchField, this::filterProducts);
 
         JLabel lblSearch = new JLabel("Search:");
         lblSearch.setFont(lexendRegular);
@@ -168,44 +171,225 @@ public class MovementPanel extends JPanel {
         productsScrollPane.setVisible(false);
     }
 
+    /** Reload product cards from the database; run by the main window's Refresh Data, after Catalog.reload() */
+    public void refresh() {
+        loadProductCards();
+    }
+
     private void loadProductCards() {
-        productsPanel.removeAll();
         selectedProductCard = null;
-        String sql = "SELECT p.product_id, p.product_name, p.category, p.unit_of_measure, p.reorder_level, s.supplier_id, s.supplier_name, l.location_id, l.location_name, COALESCE(SUM(CASE WHEN sm.movement_type = 'IN' THEN sm.quantity ELSE 0 END) - SUM(CASE WHEN sm.movement_type = 'OUT' THEN sm.quantity ELSE 0 END), 0) AS current_stock FROM Product p LEFT JOIN Supplier s ON p.supplier_id = s.supplier_id LEFT JOIN StorageLocation l ON p.location_id = l.location_id LEFT JOIN StockMovement sm ON p.product_id = sm.product_id WHERE p.product_status = 'Active' GROUP BY p.product_id ORDER BY p.product_name";
-        try (Connection conn = DBUtils.getConn(); PreparedStatement ps = conn.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
-            while (rs.next()) {
-                ProductData product = new ProductData(rs.getInt("product_id"), rs.getString("product_name"), rs.getString("category"), rs.getString("unit_of_measure"), rs.getBigDecimal("reorder_level"), rs.getInt("supplier_id"), rs.getString("supplier_name"), rs.getInt("location_id"), rs.getString("location_name"), rs.getBigDecimal("current_stock"));
+        loadingCards = true;
+        DataLoader.showLoading(productsPanel, lexendRegular);
+        // Active products from the catalog; only their stock is queried
+        DataLoader.load(productsPanel, () -> {
+            Catalog.Snapshot catalog = Catalog.get();
+            Map<Integer, BigDecimal> stock = new HashMap<>();
+            try (Connection conn = DBUtils.getConn(); PreparedStatement ps = conn.prepareStatement(QueryRepository.PRODUCT_STOCK)) {
+                DataLoader.watch(ps);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        stock.put(rs.getInt("product_id"), rs.getBigDecimal("on_hand"));
+                    }
+                }
+            }
+
+            List<ProductData> products = new ArrayList<>();
+            for (Catalog.Product product : catalog.products()) {
+                if (!"Active".equals(product.status)) continue;
+                products.add(new ProductData(product.id, product.name, product.category, product.uom, product.reorderLevel, product.supplierId, catalog.supplierName(product.supplierId), product.locationId, stock.get(product.id)));
+            }
+            return products;
+        }, products -> {
+            loadingCards = false;
+            cardsLoaded = true;
+            productsPanel.removeAll();
+            selectedProductCard = null;
+            productFilter.setItems(products);
+            for (ProductData product : products) {
                 ProductCard card = new ProductCard(product);
                 productsPanel.add(card);
                 productsPanel.add(Box.createRigidArea(new Dimension(0, 8)));
             }
-        } catch (SQLException ex) {
+            // Keep whatever the user has typed applied to the reloaded cards
+            filterProducts(searchField.getText());
+        }, ex -> {
+            loadingCards = false;
             DBUtils.showErr(ex);
+        });
+    }
+
+    // ===== CHANGE EVENTS =====
+    // Stock movements and product / supplier edits update single cards instead of reloading
+    private void subscribeToChanges() {
+        ChangeBus.subscribe(ChangeBus.MovementsInserted.class, this::applyStockChange);
+        ChangeBus.subscribe(ChangeBus.ProductChanged.class, this::applyProductChange);
+        ChangeBus.subscribe(ChangeBus.SupplierChanged.class, this::applySupplierChange);
+        ChangeBus.subscribe(ChangeBus.Reload.class, change -> {
+            if (change.table != DataVersion.Table.LOCATION) {
+                refresh();
+            }
+        });
+    }
+
+    // False when the cards were never loaded (nothing to update) or a load is running (reloaded instead)
+    private boolean cardsReady() {
+        if (loadingCards) {
+            // The running load may have read the catalog or stock before this change
+            loadProductCards();
+            return false;
         }
-        productsPanel.revalidate();
-        productsPanel.repaint();
+        return cardsLoaded;
+    }
+
+    private void applyStockChange(ChangeBus.MovementsInserted change) {
+        if (!cardsReady()) return;
+        Map<Integer, BigDecimal> deltas = change.stockDeltas();
+        for (ProductCard card : cards()) {
+            BigDecimal delta = deltas.get(card.product.id);
+            if (delta != null) {
+                card.product.currentStock = card.product.currentStock.add(delta);
+                replaceCard(card, card.product);
+            }
+        }
+        cardsChanged();
+    }
+
+    private void applyProductChange(ChangeBus.ProductChanged change) {
+        if (!cardsReady()) return;
+        ProductCard old = findCard(change.id);
+        Catalog.Product product = change.after;
+        boolean shown = product != null && "Active".equals(product.status);
+
+        if (!shown) {
+            if (old != null) {
+                removeCard(old);
+            }
+        } else if (old == null && change.kind == ChangeBus.Kind.UPDATED) {
+            // Reactivated: its stock is not known here
+            loadProductCards();
+            return;
+        } else {
+            ProductData data = new ProductData(product.id, product.name, product.category, product.uom, product.reorderLevel,
+                    product.supplierId, Catalog.snapshot().supplierName(product.supplierId), product.locationId,
+                    old != null ? old.product.currentStock : null);
+            if (old != null && PRODUCT_ORDER.compare(data, old.product) == 0) {
+                replaceCard(old, data);
+            } else {
+                boolean wasSelected = old == selectedProductCard;
+                if (old != null) {
+                    removeCard(old);
+                }
+                ProductCard card = insertCard(data);
+                if (wasSelected) {
+                    card.setSelected(true);
+                    selectedProductCard = card;
+                }
+            }
+        }
+        cardsChanged();
+    }
+
+    private void applySupplierChange(ChangeBus.SupplierChanged change) {
+        if (!cardsReady() || change.kind != ChangeBus.Kind.UPDATED) return;
+        for (ProductCard card : cards()) {
+            if (card.product.supplierId == change.id) {
+                card.product.supplierName = change.after.name;
+                replaceCard(card, card.product);
+            }
+        }
+        cardsChanged();
+    }
+
+    private static final Comparator<ProductData> PRODUCT_ORDER = Comparator
+            .comparing((ProductData p) -> p.name, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+            .thenComparingInt(p -> p.id);
+
+    private List<ProductCard> cards() {
+        List<ProductCard> cards = new ArrayList<>();
+        for (Component comp : productsPanel.getComponents()) {
+            if (comp instanceof ProductCard) {
+                cards.add((ProductCard) comp);
+            }
+        }
+        return cards;
+    }
+
+    private ProductCard findCard(int productId) {
+        for (ProductCard card : cards()) {
+            if (card.product.id == productId) return card;
+        }
+        return null;
+    }
+
+    // Swap in a card built from data at old's place, keeping the selection
+    private void replaceCard(ProductCard old, ProductData data) {
+        ProductCard card = new ProductCard(data);
+        int index = productsPanel.getComponentZOrder(old);
+        productsPanel.remove(index);
+        productsPanel.add(card, index);
+        if (old == selectedProductCard) {
+            card.setSelected(true);
+            selectedProductCard = card;
+        }
+    }
+
+    // Add a card for data, with its spacer, in name order
+    private ProductCard insertCard(ProductData data) {
+        int index = productsPanel.getComponentCount();
+        for (ProductCard card : cards()) {
+            if (PRODUCT_ORDER.compare(data, card.product) < 0) {
+                index = productsPanel.getComponentZOrder(card);
+                break;
+            }
+        }
+        ProductCard card = new ProductCard(data);
+        productsPanel.add(card, index);
+        productsPanel.add(Box.createRigidArea(new Dimension(0, 8)), index + 1);
+        return card;
+    }
+
+    // Remove card and the spacer after it
+    private void removeCard(ProductCard card) {
+        int index = productsPanel.getComponentZOrder(card);
+        productsPanel.remove(index);
+        if (index < productsPanel.getComponentCount()) {
+            productsPanel.remove(index);
+        }
+        if (card == selectedProductCard) {
+            selectedProductCard = null;
+            clearFormFieldsForCurrentType();
+        }
+    }
+
+    // Re-index the search over the current cards and re-apply it
+    private void cardsChanged() {
+        List<ProductData> products = new ArrayList<>();
+        for (ProductCard card : cards()) {
+            products.add(card.product);
+        }
+        productFilter.setItems(products);
+        filterProducts(searchField.getText());
     }
 
     private void filterProducts(String searchText) {
-        searchText = searchText.trim().toLowerCase();
-        Component[] components = productsPanel.getComponents();
-        for (Component comp : components) {
+        Set<ProductData> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+        matches.addAll(productFilter.filter(searchText));
+        for (Component comp : productsPanel.getComponents()) {
             if (comp instanceof ProductCard) {
                 ProductCard card = (ProductCard) comp;
-                ProductData product = card.product;
-                boolean matches = true;
-                if (!searchText.isEmpty()) {
-                    String name = product.name != null ? product.name.toLowerCase() : "";
-                    String supplier = product.supplierName != null ? product.supplierName.toLowerCase() : "";
-                    matches = name.contains(searchText) || supplier.contains(searchText);
-                }
-                card.setVisible(matches);
+                card.setVisible(matches.contains(card.product));
             }
         }
         productsPanel.revalidate();
         productsPanel.repaint();
     }
 
+    private static boolean matchesSearch(ProductData product, String searchText) {
+        String name = product.name != null ? product.name.toLowerCase() : "";
+        String supplier = product.supplierName != null ? product.supplierName.toLowerCase() : "";
+        return name.contains(searchText) || supplier.contains(searchText);
+    }
+
     private JPanel createEmptyCard() {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBackground(BG_COLOR);
@@ -375,8 +559,13 @@ public class MovementPanel extends JPanel {
         addHoverEffect(btnSubmit, new Color(0x9C27B0));
         btnSubmit.addActionListener(e -> submitSales());
 
+        RoundedButton btnImport = new RoundedButton("Import CSV...", 15);
+        addHoverEffect(btnImport, new Color(0x7B1FA2));
+        btnImport.addActionListener(e -> importSalesCsv());
+
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
         buttonPanel.setBackground(CARD_BG);
+        buttonPanel.add(btnImport);
         buttonPanel.add(btnSubmit);
 
         panel.add(title, BorderLayout.NORTH);
@@ -455,21 +644,15 @@ public class MovementPanel extends JPanel {
                 int locationId = ((Item) cbRestockLocation.getSelectedItem()).id;
                 Date date = dpRestockDate.getDate();
 
-                String sql = "INSERT INTO StockMovement (product_id, location_id, supplier_id, quantity, movement_type, movement_date, reason) VALUES (?, ?, ?, ?, 'IN', ?, 'Product Restock')";
-                PreparedStatement ps = conn.prepareStatement(sql);
-                ps.setInt(1, productId);
-                ps.setInt(2, locationId);
-                ps.setInt(3, supplierId);
-                ps.setBigDecimal(4, qty);
-                ps.setDate(5, date);
-                ps.executeUpdate();
-                ps.close();
+                StockLedger.recordMovement(conn, productId, locationId, supplierId, qty, null,
+                        "IN", StockLedger.RESTOCK, date, "Product Restock");
 
                 conn.commit();
+                ChangeBus.publish(new ChangeBus.MovementsInserted(
+                        new ChangeBus.Movement(productId, locationId, supplierId, "IN", qty, date.toLocalDate())));
                 JOptionPane.showMessageDialog(this, "Restock transaction recorded successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
                 clearRestockForm();
-                loadProductCards();
-                reportPanel.refresh();
+                ReportCache.invalidate(date.toLocalDate());
             } catch (Exception ex) {
                 conn.rollback();
                 throw ex;
@@ -503,19 +686,14 @@ public class MovementPanel extends JPanel {
                 int locationId = ((Item) cbPReturnLocation.getSelectedItem()).id;
                 Date date = dpPReturnDate.getDate();
                 String reason = tfPReturnReason.getText().trim();
-                String sql = "INSERT INTO StockMovement (product_id, location_id, supplier_id, quantity, movement_type, movement_date, reason) VALUES (?, ?, NULL, ?, 'IN', ?, ?)";
-                PreparedStatement ps = conn.prepareStatement(sql);
-                ps.setInt(1, productId);
-                ps.setInt(2, locationId);
-                ps.setBigDecimal(3, qty);
-                ps.setDate(4, date);
-                ps.setString(5, "Product Return: " + reason);
-                ps.executeUpdate();
+                StockLedger.recordMovement(conn, productId, locationId, null, qty, null,
+                        "IN", StockLedger.PRODUCT_RETURN, date, "Product Return: " + reason);
                 conn.commit();
+                ChangeBus.publish(new ChangeBus.MovementsInserted(
+                        new ChangeBus.Movement(productId, locationId, null, "IN", qty, date.toLocalDate())));
                 JOptionPane.showMessageDialog(this, "Product return recorded successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
                 clearProductReturnForm();
-                loadProductCards();
-                reportPanel.refresh();
+                ReportCache.invalidate(date.toLocalDate());
             } catch (Exception ex) {
                 conn.rollback();
                 throw ex;
@@ -540,6 +718,7 @@ public class MovementPanel extends JPanel {
                 return;
             }
             int productId = ((Item) cbSReturnProduct.getSelectedItem()).id;
+            // Early feedback only; recordMovement re-checks under a row lock
             BigDecimal currentStock = getCurrentStock(productId);
             if (currentStock.compareTo(qty) < 0) {
                 JOptionPane.showMessageDialog(this, String.format("Insufficient stock! Current: %.2f, Requested: %.2f", currentStock, qty), "Stock Error", JOptionPane.ERROR_MESSAGE);
@@ -548,34 +727,20 @@ public class MovementPanel extends JPanel {
             if (JOptionPane.showConfirmDialog(this, "Submit supplier return?", "Confirm", JOptionPane.YES_NO_OPTION) != JOptionPane.YES_OPTION) {
                 return;
             }
-            Connection conn = DBUtils.getConn();
-            conn.setAutoCommit(false);
-            try {
-                int supplierId = ((Item) cbSReturnSupplier.getSelectedItem()).id;
-                int locationId = ((Item) cbSReturnLocation.getSelectedItem()).id;
-                Date date = dpSReturnDate.getDate();
-                String reason = tfSReturnReason.getText().trim();
-                String sql = "INSERT INTO StockMovement (product_id, location_id, supplier_id, quantity, movement_type, movement_date, reason) VALUES (?, ?, ?, ?, 'OUT', ?, ?)";
-                PreparedStatement ps = conn.prepareStatement(sql);
-                ps.setInt(1, productId);
-                ps.setInt(2, locationId);
-                ps.setInt(3, supplierId);
-                ps.setBigDecimal(4, qty);
-                ps.setDate(5, date);
-                ps.setString(6, "Supplier Return: " + reason);
-                ps.executeUpdate();
-                conn.commit();
-                JOptionPane.showMessageDialog(this, "Supplier return recorded successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-                clearSupplierReturnForm();
-                loadProductCards();
-                reportPanel.refresh();
-            } catch (Exception ex) {
-                conn.rollback();
-                throw ex;
-            } finally {
-                conn.setAutoCommit(true);
-                conn.close();
-            }
+            int supplierId = ((Item) cbSReturnSupplier.getSelectedItem()).id;
+            int locationId = ((Item) cbSReturnLocation.getSelectedItem()).id;
+            Date date = dpSReturnDate.getDate();
+            String reason = tfSReturnReason.getText().trim();
+            StockLedger.inTransaction(conn -> StockLedger.recordMovement(conn, productId, locationId, supplierId, qty, null,
+                    "OUT", StockLedger.SUPPLIER_RETURN, date, "Supplier Return: " + reason));
+            ChangeBus.publish(new ChangeBus.MovementsInserted(
+                    new ChangeBus.Movement(productId, locationId, supplierId, "OUT", qty, date.toLocalDate())));
+            JOptionPane.showMessageDialog(this, "Supplier return recorded successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+            clearSupplierReturnForm();
+            ReportCache.invalidate(date.toLocalDate());
+        } catch (InsufficientStockException ex) {
+            // Another terminal took the stock between the early check and the commit
+            showInsufficientStock(ex);
         } catch (Exception ex) {
             DBUtils.showErr((SQLException) ex);
         }
@@ -594,6 +759,7 @@ public class MovementPanel extends JPanel {
                 return;
             }
             int productId = ((Item) cbSalesProduct.getSelectedItem()).id;
+            // Early feedback only; recordMovement re-checks under a row lock
             BigDecimal currentStock = getCurrentStock(productId);
             if (currentStock.compareTo(qty) < 0) {
                 JOptionPane.showMessageDialog(this, String.format("Insufficient stock! Current: %.2f, Requested: %.2f", currentStock, qty), "Stock Error", JOptionPane.ERROR_MESSAGE);
@@ -602,45 +768,136 @@ public class MovementPanel extends JPanel {
             if (JOptionPane.showConfirmDialog(this, "Submit sales transaction?", "Confirm", JOptionPane.YES_NO_OPTION) != JOptionPane.YES_OPTION) {
                 return;
             }
-            Connection conn = DBUtils.getConn();
-            conn.setAutoCommit(false);
-            try {
-                int locationId = ((Item) cbSalesLocation.getSelectedItem()).id;
-                Date date = dpSalesDate.getDate();
-                String sql = "INSERT INTO StockMovement (product_id, location_id, supplier_id, quantity, movement_type, movement_date, reason) VALUES (?, ?, NULL, ?, 'OUT', ?, ?)";
-                PreparedStatement ps = conn.prepareStatement(sql);
-                ps.setInt(1, productId);
-                ps.setInt(2, locationId);
-                ps.setBigDecimal(3, qty);
-                ps.setDate(4, date);
-                ps.setString(5, "Sales - Amount: " + amount);
-                ps.executeUpdate();
-                conn.commit();
-                JOptionPane.showMessageDialog(this, "Sales transaction recorded successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-                clearSalesForm();
-                reportPanel.refresh();
-            } catch (Exception ex) {
-                conn.rollback();
-                throw ex;
-            } finally {
-                conn.setAutoCommit(true);
-                conn.close();
-            }
+            int locationId = ((Item) cbSalesLocation.getSelectedItem()).id;
+            Date date = dpSalesDate.getDate();
+            StockLedger.inTransaction(conn -> StockLedger.recordMovement(conn, productId, locationId, null, qty, amount,
+                    "OUT", StockLedger.SALE, date, "Sales"));
+            ChangeBus.publish(new ChangeBus.MovementsInserted(
+                    new ChangeBus.Movement(productId, locationId, null, "OUT", qty, date.toLocalDate())));
+            JOptionPane.showMessageDialog(this, "Sales transaction recorded successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+            clearSalesForm();
+            ReportCache.invalidate(date.toLocalDate());
+        } catch (InsufficientStockException ex) {
+            // Another terminal took the stock between the early check and the commit
+            showInsufficientStock(ex);
         } catch (Exception ex) {
             DBUtils.showErr((SQLException) ex);
         }
     }
 
-    private BigDecimal getCurrentStock(int productId) throws SQLException {
-        String sql = "SELECT COALESCE(SUM(CASE WHEN movement_type = 'IN' THEN quantity ELSE 0 END) - SUM(CASE WHEN movement_type = 'OUT' THEN quantity ELSE 0 END), 0) AS current_stock FROM StockMovement WHERE product_id = ?";
-        try (Connection conn = DBUtils.getConn(); PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, productId);
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                return rs.getBigDecimal("current_stock");
+    // Bulk import of a POS sales export; see SalesImporter for the file format
+    private void importSalesCsv() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("CSV files (product, location, qty, amount, date)", "csv"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
+
+        JProgressBar progressBar = new JProgressBar();
+        progressBar.setStringPainted(true);
+        progressBar.setString("Reading " + file.getName() + "...");
+        progressBar.setIndeterminate(true);
+
+        JDialog dialog = new JDialog(SwingUtilities.getWindowAncestor(this), "Importing Sales", Dialog.ModalityType.APPLICATION_MODAL);
+        dialog.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+        JPanel content = new JPanel(new BorderLayout(10, 10));
+        content.setBorder(new EmptyBorder(15, 15, 15, 15));
+        content.add(createLabel("Importing " + file.getName()), BorderLayout.NORTH);
+        content.add(progressBar, BorderLayout.CENTER);
+        dialog.setContentPane(content);
+        dialog.setSize(360, 120);
+        dialog.setLocationRelativeTo(this);
+
+        SwingWorker<SalesImporter.Result, int[]> worker = new SwingWorker<>() {
+            @Override
+            protected SalesImporter.Result doInBackground() throws Exception {
+                return new SalesImporter().importFile(file, (processed, total) -> publish(new int[]{processed, total}));
+            }
+
+            @Override
+            protected void process(List<int[]> updates) {
+                int[] latest = updates.get(updates.size() - 1);
+                progressBar.setIndeterminate(false);
+                progressBar.setMaximum(Math.max(latest[1], 1));
+                progressBar.setValue(latest[0]);
+                progressBar.setString(latest[0] + " / " + latest[1] + " rows");
             }
+
+            @Override
+            protected void done() {
+                dialog.dispose();
+                try {
+                    showImportResult(get());
+                } catch (ExecutionException ex) {
+                    if (ex.getCause() instanceof SQLException) {
+                        DBUtils.showErr((SQLException) ex.getCause());
+                    } else {
+                        JOptionPane.showMessageDialog(MovementPanel.this, "Import failed: " + ex.getCause().getMessage(), "Import Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        worker.execute();
+        dialog.setVisible(true); // blocks until done() disposes it
+    }
+
+    private void showImportResult(SalesImporter.Result result) {
+        if (!result.sales.isEmpty()) {
+            List<ChangeBus.Movement> movements = new ArrayList<>();
+            for (StockLedger.Sale sale : result.sales) {
+                movements.add(new ChangeBus.Movement(sale.productId, sale.locationId, null, "OUT", sale.qty, sale.date.toLocalDate()));
+            }
+            ChangeBus.publish(new ChangeBus.MovementsInserted(movements));
+        }
+
+        String summary = String.format("Imported %d sales transactions.", result.imported);
+        if (result.errors.isEmpty()) {
+            JOptionPane.showMessageDialog(this, summary, "Import Complete", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        StringBuilder details = new StringBuilder();
+        for (SalesImporter.RowError error : result.errors) {
+            details.append("Line ").append(error.line).append(": ").append(error.message).append('\n');
+        }
+        JTextArea errorList = new JTextArea(details.toString(), 12, 50);
+        errorList.setEditable(false);
+        errorList.setFont(lexendRegular);
+
+        JPanel message = new JPanel(new BorderLayout(5, 5));
+        message.add(createLabel(summary + " " + result.errors.size() + " rows were rejected:"), BorderLayout.NORTH);
+        message.add(new JScrollPane(errorList), BorderLayout.CENTER);
+
+        Object[] options = {"Save Error Report", "Close"};
+        int choice = JOptionPane.showOptionDialog(this, message, "Import Complete", JOptionPane.DEFAULT_OPTION,
+                JOptionPane.WARNING_MESSAGE, null, options, options[1]);
+        if (choice != 0) {
+            return;
+        }
+
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("sales-import-errors.csv"));
+        if (chooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
+            try {
+                result.writeErrorReport(chooser.getSelectedFile());
+            } catch (IOException ex) {
+                JOptionPane.showMessageDialog(this, "Could not save the report: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        }
+    }
+
+    private void showInsufficientStock(InsufficientStockException ex) {
+        JOptionPane.showMessageDialog(this, String.format("Insufficient stock! Current: %.2f, Requested: %.2f", ex.getAvailable(), ex.getRequested()), "Stock Error", JOptionPane.ERROR_MESSAGE);
+        loadProductCards();
+    }
+
+    private BigDecimal getCurrentStock(int productId) throws SQLException {
+        try (Connection conn = DBUtils.getConn()) {
+            return StockLedger.getCurrentStock(conn, productId);
         }
-        return BigDecimal.ZERO;
     }
 
     private void clearRestockForm() {
@@ -692,17 +949,6 @@ public class MovementPanel extends JPanel {
         dpSalesDate.setDate(new Date(System.currentTimeMillis()));
     }
 
-    private void loadComboData() {
-        try (Connection conn = DBUtils.getConn()) {
-            ResultSet rs = conn.createStatement().executeQuery("SELECT location_id, location_name FROM StorageLocation ORDER BY location_name");
-            while (rs.next()) {
-                Item item = new Item(rs.getInt(1), rs.getString(2));
-            }
-        } catch (SQLException ex) {
-            DBUtils.showErr(ex);
-        }
-    }
-
     private class ProductCard extends JPanel {
         private final ProductData product;
         private boolean selected = false;
@@ -827,18 +1073,22 @@ public class MovementPanel extends JPanel {
         }
     }
 
+    // Supplier and location options are the product's own, named as the catalog has them now
     private void fillFormFromProduct(ProductData product) {
+        Catalog.Snapshot catalog = Catalog.snapshot();
+        String supplierName = catalog.supplierName(product.supplierId);
+        String locationName = catalog.locationName(product.locationId);
         switch (currentTransactionType) {
             case "RESTOCK":
                 cbRestockProduct.removeAllItems();
                 cbRestockProduct.addItem(new Item(product.id, product.name));
                 cbRestockSupplier.removeAllItems();
                 if (product.supplierId > 0) {
-                    cbRestockSupplier.addItem(new Item(product.supplierId, product.supplierName));
+                    cbRestockSupplier.addItem(new Item(product.supplierId, supplierName));
                 }
                 cbRestockLocation.removeAllItems();
                 if (product.locationId > 0) {
-                    cbRestockLocation.addItem(new Item(product.locationId, product.locationName));
+                    cbRestockLocation.addItem(new Item(product.locationId, locationName));
                 }
                 break;
             case "PRETURN":
@@ -846,7 +1096,7 @@ public class MovementPanel extends JPanel {
                 cbPReturnProduct.addItem(new Item(product.id, product.name));
                 cbPReturnLocation.removeAllItems();
                 if (product.locationId > 0) {
-                    cbPReturnLocation.addItem(new Item(product.locationId, product.locationName));
+                    cbPReturnLocation.addItem(new Item(product.locationId, locationName));
                 }
                 break;
             case "SRETURN":
@@ -854,11 +1104,11 @@ public class MovementPanel extends JPanel {
                 cbSReturnProduct.addItem(new Item(product.id, product.name));
                 cbSReturnSupplier.removeAllItems();
                 if (product.supplierId > 0) {
-                    cbSReturnSupplier.addItem(new Item(product.supplierId, product.supplierName));
+                    cbSReturnSupplier.addItem(new Item(product.supplierId, supplierName));
                 }
                 cbSReturnLocation.removeAllItems();
                 if (product.locationId > 0) {
-                    cbSReturnLocation.addItem(new Item(product.locationId, product.locationName));
+                    cbSReturnLocation.addItem(new Item(product.locationId, locationName));
                 }
                 break;
             case "SALES": // Add this case
@@ -866,7 +1116,7 @@ public class MovementPanel extends JPanel {
                 cbSalesProduct.addItem(new Item(product.id, product.name));
                 cbSalesLocation.removeAllItems();
                 if (product.locationId > 0) {
-                    cbSalesLocation.addItem(new Item(product.locationId, product.locationName));
+                    cbSalesLocation.addItem(new Item(product.locationId, locationName));
                 }
                 break;
         }
@@ -881,10 +1131,9 @@ public class MovementPanel extends JPanel {
         int supplierId;
         String supplierName;
         int locationId;
-        String locationName;
         BigDecimal currentStock;
 
-        public ProductData(int id, String name, String category, String uom, BigDecimal reorderLevel, int supplierId, String supplierName, int locationId, String locationName, BigDecimal currentStock) {
+        public ProductData(int id, String name, String category, String uom, BigDecimal reorderLevel, int supplierId, String supplierName, int locationId, BigDecimal currentStock) {
             this.id = id;
             this.name = name;
             this.category = category;
@@ -893,7 +1142,6 @@ public class MovementPanel extends JPanel {
             this.supplierId = supplierId;
             this.supplierName = supplierName;
             this.locationId = locationId;
-            this.locationName = locationName;
             this.currentStock = currentStock != null ? currentStock : BigDecimal.ZERO;
         }
     }
@@ -0,0 +1,113 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Builds each main panel once, on first use, and keeps it alive in a
+ * CardLayout so switching tabs is just a card flip.
+ *
+ * Every panel is registered with the tables it displays. When a panel is
+ * shown again its refresh callback only runs if one of those tables was
+ * written (see DataVersion) since the panel was last on screen. Panels that
+ * keep themselves current from ChangeBus events register no tables.
+ * refreshAll() reloads every panel regardless, for data written elsewhere.
+ */
+public class PanelRegistry {
+
+    private final JPanel container;
+    private final CardLayout cards = new CardLayout();
+    private final Map<String, Entry<?>> entries = new HashMap<>();
+    private Entry<?> current = null;
+
+    public PanelRegistry(JPanel container) {
+        this.container = container;
+        container.setLayout(cards);
+    }
+
+    public <P extends JPanel> void register(String name, Supplier<P> factory, Consumer<P> refresh,
+                                            DataVersion.Table... tables) {
+        entries.put(name, new Entry<>(name, factory, refresh, tables));
+    }
+
+    /** The panel registered under name, building it if it has not been shown yet */
+    public JPanel get(String name) {
+        return entry(name).panel();
+    }
+
+    /** Bring the named panel to front, refreshing it only if its data changed */
+    public JPanel show(String name) {
+        Entry<?> entry = entry(name);
+        if (current != null && current != entry) {
+            // A visible panel reloads itself after its own edits, so it is up to date as we leave it
+            current.seenVersion = DataVersion.get(current.tables);
+        }
+
+        if (entry.panel == null) {
+            entry.panel();
+        } else if (entry != current) {
+            entry.refreshIfChanged();
+        }
+
+        cards.show(container, name);
+        current = entry;
+        return entry.panel;
+    }
+
+    /** Refresh the shown panel now and every other built panel the next time it is shown */
+    public void refreshAll() {
+        for (Entry<?> entry : entries.values()) {
+            entry.stale = true;
+        }
+        if (current != null && current.panel != null) {
+            current.refreshIfChanged();
+        }
+    }
+
+    private Entry<?> entry(String name) {
+        Entry<?> entry = entries.get(name);
+        if (entry == null) {
+            throw new IllegalArgumentException("No panel registered as " + name);
+        }
+        return entry;
+    }
+
+    private class Entry<P extends JPanel> {
+        final String name;
+        final Supplier<P> factory;
+        final Consumer<P> refresh;
+        final DataVersion.Table[] tables;
+        P panel;
+        long seenVersion;
+        boolean stale;
+
+        Entry(String name, Supplier<P> factory, Consumer<P> refresh, DataVersion.Table[] tables) {
+            this.name = name;
+            this.factory = factory;
+            this.refresh = refresh;
+            this.tables = tables;
+        }
+
+        P panel() {
+            if (panel == null) {
+                // Read the version first: the constructor's own load sees at least this much
+                seenVersion = DataVersion.get(tables);
+                stale = false;
+                panel = factory.get();
+                container.add(panel, name);
+            }
+            return panel;
+        }
+
+        void refreshIfChanged() {
+            long version = DataVersion.get(tables);
+            if (stale || version != seenVersion) {
+                seenVersion = version;
+                stale = false;
+                refresh.accept(panel);
+            }
+        }
+    }
+}
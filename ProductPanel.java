@@ -3,8 +3,16 @@ import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.MouseMotionAdapter;
 import java.sql.*;
 import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 /**
  * Products tab with card-based layout - IMPROVED VERSION
@@ -25,10 +33,26 @@ public class ProductPanel extends JPanel {
     private final Color SUCCESS_COLOR = new Color(0x4CAF50);
     private final Color WARNING_COLOR = new Color(0xFF9800);
 
-    // Product cards container
+    // Product list: one flat model, rows painted by a single card renderer
+    private static final int CARD_HEIGHT = 130;
+    private static final int CARD_GAP = 10;
+
     private JPanel cardsPanel;
     private JScrollPane scrollPane;
-    private ProductCard selectedCard = null;
+    private final ProductListModel listModel = new ProductListModel();
+    private final JList<ProductData> productList = new JList<>(listModel);
+    private ProductData selectedProduct = null;
+
+    // Paging: products are fetched PAGE_SIZE rows at a time, filtered in SQL
+    private static final int PAGE_SIZE = 50;
+    // Listing order, the ORDER BY of fetchProductPage as far as Java can tell: MySQL's collation
+    // may sort accented names differently, so it only places rows when every page is loaded
+    private static final Comparator<ProductData> PRODUCT_ORDER =
+            Comparator.comparing((ProductData p) -> p.name, String.CASE_INSENSITIVE_ORDER).thenComparingInt(p -> p.id);
+    private ProductFilter currentFilter;
+    private boolean hasMorePages = false;
+    private boolean loadingPage = false;
+    private int hoverIndex = -1;
 
     // Search/Filter fields
     private final RoundedTextField tfSearch = new RoundedTextField(20, Color.WHITE);
@@ -70,10 +94,14 @@ public class ProductPanel extends JPanel {
         cardsPanel.setBackground(BG_COLOR);
         cardsPanel.setBorder(new EmptyBorder(0, 0, 10, 10));
 
-        scrollPane = new JScrollPane(cardsPanel);
+        setupProductList();
+        scrollPane = new JScrollPane(productList);
         scrollPane.setBorder(null);
+        scrollPane.setHorizontalScrollBarPolicy(ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
         scrollPane.getVerticalScrollBar().setUnitIncrement(16);
-        add(scrollPane, BorderLayout.CENTER);
+        scrollPane.getViewport().setBackground(BG_COLOR);
+        scrollPane.getVerticalScrollBar().getModel().addChangeListener(e -> loadNextPageIfNeeded());
+        add(cardsPanel, BorderLayout.CENTER);
 
         // ================= FORM =================
         JPanel formPanel = createFormPanel();
@@ -87,6 +115,7 @@ public class ProductPanel extends JPanel {
 
         loadComboData();
         loadProducts();
+        subscribeToChanges();
     }
 
     // ---------- FILTER PANEL ----------
@@ -105,19 +134,7 @@ public class ProductPanel extends JPanel {
         // Search field with placeholder
         tfSearch.setPlaceholder("Search products...");
         tfSearch.setPreferredSize(new Dimension(200, 40));
-        tfSearch.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
-            public void changedUpdate(javax.swing.event.DocumentEvent e) {
-                applyFilters();
-            }
-
-            public void removeUpdate(javax.swing.event.DocumentEvent e) {
-                applyFilters();
-            }
-
-            public void insertUpdate(javax.swing.event.DocumentEvent e) {
-                applyFilters();
-            }
-        });
+        new SearchDebouncer(tfSearch, query -> applyFilters());
 
         // Status filter
         JLabel lblStatus = new JLabel("Status:");
@@ -198,6 +215,75 @@ public class ProductPanel extends JPanel {
         return panel;
     }
 
+    // ---------- PRODUCT LIST ----------
+    private void setupProductList() {
+        productList.setCellRenderer(new ProductCardRenderer());
+        productList.setBackground(BG_COLOR);
+        productList.setFixedCellHeight(CARD_HEIGHT + CARD_GAP);
+        // Rows always span the viewport; a fixed width stops JList measuring every row
+        productList.setFixedCellWidth(100);
+        productList.setFocusable(false);
+        productList.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+
+        // Click handler - clicking the selected product again deselects it
+        productList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = indexAt(e.getPoint());
+                if (index < 0) return;
+
+                ProductData product = listModel.getElementAt(index);
+                if (isSelected(product)) {
+                    clearForm();
+                } else {
+                    selectedProduct = product;
+                    fillFormFromProduct(product);
+                    productList.repaint();
+                }
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                setHoverIndex(-1);
+            }
+        });
+
+        productList.addMouseMotionListener(new MouseMotionAdapter() {
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                setHoverIndex(indexAt(e.getPoint()));
+            }
+        });
+    }
+
+    // Rows are re-fetched on every filter change, so compare by id rather than identity
+    private boolean isSelected(ProductData product) {
+        return selectedProduct != null && selectedProduct.id == product.id;
+    }
+
+    // locationToIndex returns the nearest row, so check the point is really inside it
+    private int indexAt(Point p) {
+        int index = productList.locationToIndex(p);
+        if (index < 0) return -1;
+        Rectangle bounds = productList.getCellBounds(index, index);
+        return bounds != null && bounds.contains(p) ? index : -1;
+    }
+
+    private void setHoverIndex(int index) {
+        if (index == hoverIndex) return;
+        repaintRow(hoverIndex);
+        hoverIndex = index;
+        repaintRow(hoverIndex);
+    }
+
+    private void repaintRow(int index) {
+        if (index < 0 || index >= listModel.getSize()) return;
+        Rectangle bounds = productList.getCellBounds(index, index);
+        if (bounds != null) {
+            productList.repaint(bounds);
+        }
+    }
+
     private JLabel createLabel(String text) {
         JLabel label = new JLabel(text);
         label.setFont(lexendRegular);
@@ -305,27 +391,18 @@ public class ProductPanel extends JPanel {
     }
 
     // ---------- HELPER METHODS ----------
+    // Supplier and location options come from the catalog; only its first load queries
     private void loadComboData() {
-        cbSupplier.removeAllItems();
-        cbLocation.removeAllItems();
-
-        try (Connection conn = DBUtils.getConn()) {
-            // Load suppliers
-            ResultSet rs = conn.createStatement().executeQuery(
-                    "SELECT supplier_id, supplier_name FROM Supplier ORDER BY supplier_name");
-            while (rs.next()) {
-                cbSupplier.addItem(new Item(rs.getInt(1), rs.getString(2)));
+        DataLoader.load(cbSupplier, Catalog::get, catalog -> {
+            cbSupplier.removeAllItems();
+            cbLocation.removeAllItems();
+            for (Catalog.Supplier supplier : catalog.suppliers()) {
+                cbSupplier.addItem(new Item(supplier.id, supplier.name));
             }
-
-            // Load storage locations
-            rs = conn.createStatement().executeQuery(
-                    "SELECT location_id, location_name FROM StorageLocation ORDER BY location_name");
-            while (rs.next()) {
-                cbLocation.addItem(new Item(rs.getInt(1), rs.getString(2)));
+            for (Catalog.Location location : catalog.locations()) {
+                cbLocation.addItem(new Item(location.id, location.name));
             }
-        } catch (SQLException ex) {
-            showError("Failed to load supplier and location data.", ex);
-        }
+        }, ex -> showError("Failed to load supplier and location data.", ex));
     }
 
     private void clearForm() {
@@ -338,9 +415,9 @@ public class ProductPanel extends JPanel {
         cbLocation.setSelectedIndex(cbLocation.getItemCount() > 0 ? 0 : -1);
         cbStatus.setSelectedIndex(0);
 
-        if (selectedCard != null) {
-            selectedCard.setSelected(false);
-            selectedCard = null;
+        if (selectedProduct != null) {
+            selectedProduct = null;
+            productList.repaint();
         }
     }
 
@@ -358,14 +435,14 @@ public class ProductPanel extends JPanel {
         tfUom.setText(product.uom != null ? product.uom : "");
         tfReorder.setText(String.valueOf(product.reorderLevel));
 
-        selectComboItemByName(cbSupplier, product.supplierName);
-        selectComboItemByName(cbLocation, product.locationName);
+        selectComboItemById(cbSupplier, product.supplierId);
+        selectComboItemById(cbLocation, product.locationId);
 
         cbStatus.setSelectedItem(product.status);
     }
 
-    private void selectComboItemByName(JComboBox<Item> combo, String name) {
-        if (name == null || name.isEmpty()) {
+    private void selectComboItemById(JComboBox<Item> combo, int id) {
+        if (id == 0) {
             if (combo.getItemCount() > 0) {
                 combo.setSelectedIndex(0);
             }
@@ -373,125 +450,226 @@ public class ProductPanel extends JPanel {
         }
         for (int i = 0; i < combo.getItemCount(); i++) {
             Item it = combo.getItemAt(i);
-            if (name.equals(it.name)) {
+            if (it.id == id) {
                 combo.setSelectedIndex(i);
                 return;
             }
         }
     }
 
+    /** Reload products and combos from the database; run by the main window's Refresh Data, after Catalog.reload() */
+    public void refresh() {
+        loadComboData();
+        loadProducts();
+    }
+
     private void loadProducts() {
-        cardsPanel.removeAll();
-        selectedCard = null;
-
-        String sql = "SELECT p.product_id, p.product_name, p.description, p.category, " +
-                "p.unit_of_measure, p.reorder_level, s.supplier_name, l.location_name, p.product_status, " +
-                "COALESCE(SUM(CASE WHEN sm.movement_type = 'IN' THEN sm.quantity ELSE 0 END) - " +
-                "SUM(CASE WHEN sm.movement_type = 'OUT' THEN sm.quantity ELSE 0 END), 0) AS current_stock " +
-                "FROM Product p " +
-                "LEFT JOIN Supplier s ON p.supplier_id = s.supplier_id " +
-                "LEFT JOIN StorageLocation l ON p.location_id = l.location_id " +
-                "LEFT JOIN StockMovement sm ON p.product_id = sm.product_id " +
-                "GROUP BY p.product_id " +
-                "ORDER BY p.product_name";
+        selectedProduct = null;
+        applyFilters();
+    }
 
-        try (Connection conn = DBUtils.getConn();
-             PreparedStatement ps = conn.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
-
-            int count = 0;
-            while (rs.next()) {
-                ProductData product = new ProductData(
-                        rs.getInt("product_id"),
-                        rs.getString("product_name"),
-                        rs.getString("description"),
-                        rs.getString("category"),
-                        rs.getString("unit_of_measure"),
-                        rs.getBigDecimal("reorder_level"),
-                        rs.getString("supplier_name"),
-                        rs.getString("location_name"),
-                        rs.getString("product_status"),
-                        rs.getBigDecimal("current_stock")
-                );
-
-                ProductCard card = new ProductCard(product);
-                cardsPanel.add(card);
-                cardsPanel.add(Box.createRigidArea(new Dimension(0, 10)));
-                count++;
-            }
+    // Re-query the first page with the current filter values; later pages load on scroll
+    private void applyFilters() {
+        ProductFilter filter = new ProductFilter(
+                tfSearch.getText().trim(),
+                (String) cbFilterStatus.getSelectedItem(),
+                (String) cbFilterCategory.getSelectedItem(),
+                chkLowStock.isSelected()
+        );
+        // The last listing was complete and the new filter only narrows it: no need to query again
+        if (currentFilter != null && !hasMorePages && !loadingPage && filter.narrows(currentFilter)) {
+            narrowProducts(filter);
+            return;
+        }
 
-            if (count == 0) {
-                JLabel noData = new JLabel("No products found. Add your first product below!");
-                noData.setFont(lexendRegular.deriveFont(14f));
-                noData.setForeground(new Color(0x888888));
-                noData.setAlignmentX(Component.CENTER_ALIGNMENT);
-                cardsPanel.add(Box.createVerticalGlue());
-                cardsPanel.add(noData);
-                cardsPanel.add(Box.createVerticalGlue());
-            }
+        currentFilter = filter;
+        hasMorePages = false;
+        loadingPage = true;
 
-        } catch (SQLException ex) {
+        if (listModel.getSize() == 0) {
+            DataLoader.showLoading(cardsPanel, lexendRegular);
+        }
+
+        // The unfiltered first page may already have been fetched during startup
+        DataLoader.load(cardsPanel, () -> filter.isEmpty()
+                ? Startup.take(Startup.PRODUCT_FIRST_PAGE, () -> fetchProductPage(filter, null))
+                : fetchProductPage(filter, null), rows -> {
+            loadingPage = false;
+            showFirstPage(filter, takePage(rows));
+            Startup.interactive();
+        }, ex -> {
+            loadingPage = false;
+            listModel.setProducts(new ArrayList<>());
+            cardsPanel.removeAll();
+            cardsPanel.revalidate();
+            cardsPanel.repaint();
             showError("Failed to load products.", ex);
+        });
+    }
+
+    private void narrowProducts(ProductFilter filter) {
+        String searchText = fold(filter.search);
+        List<ProductData> matches = new ArrayList<>();
+        for (int i = 0; i < listModel.getSize(); i++) {
+            ProductData product = listModel.getElementAt(i);
+            if (matchesSearch(product, searchText)) {
+                matches.add(product);
+            }
+        }
+        currentFilter = filter;
+        showFirstPage(filter, matches);
+    }
+
+    // searchText must already be folded
+    private static boolean matchesSearch(ProductData product, String searchText) {
+        String name = fold(product.name);
+        String desc = fold(product.description);
+        String supplier = fold(product.supplierName());
+
+        return name.contains(searchText) ||
+                desc.contains(searchText) ||
+                supplier.contains(searchText);
+    }
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    // Lower case without accents, so in-memory matching agrees with the SQL LIKE, which runs
+    // under the database's accent-insensitive collation ("jalapen" finds "Jalapeño" either way)
+    static String fold(String text) {
+        if (text == null) return "";
+        String stripped = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return stripped.toLowerCase(Locale.ROOT);
+    }
+
+    private void showFirstPage(ProductFilter filter, List<ProductData> products) {
+        hoverIndex = -1;
+        listModel.setProducts(products);
+        scrollPane.getVerticalScrollBar().setValue(0);
+
+        cardsPanel.removeAll();
+        if (listModel.getSize() == 0) {
+            JLabel noData = new JLabel(filter.isEmpty()
+                    ? "No products found. Add your first product below!"
+                    : "No products match the current filters.");
+            noData.setFont(lexendRegular.deriveFont(14f));
+            noData.setForeground(new Color(0x888888));
+            noData.setAlignmentX(Component.CENTER_ALIGNMENT);
+            cardsPanel.add(Box.createVerticalGlue());
+            cardsPanel.add(noData);
+            cardsPanel.add(Box.createVerticalGlue());
+        } else {
+            cardsPanel.add(scrollPane);
         }
 
         cardsPanel.revalidate();
         cardsPanel.repaint();
     }
 
-    private void applyFilters() {
-        String searchText = tfSearch.getText().trim().toLowerCase();
-        String statusFilter = (String) cbFilterStatus.getSelectedItem();
-        String categoryFilter = (String) cbFilterCategory.getSelectedItem();
-        boolean lowStockOnly = chkLowStock.isSelected();
-
-        Component[] components = cardsPanel.getComponents();
+    // Infinite scroll: fetch the next page once the user nears the end of the list
+    private void loadNextPageIfNeeded() {
+        if (loadingPage || !hasMorePages || listModel.getSize() == 0) return;
 
-        for (int i = 0; i < components.length; i++) {
-            Component comp = components[i];
+        BoundedRangeModel scroll = scrollPane.getVerticalScrollBar().getModel();
+        int remaining = scroll.getMaximum() - (scroll.getValue() + scroll.getExtent());
+        if (remaining > 3 * (CARD_HEIGHT + CARD_GAP)) return;
 
-            if (comp instanceof ProductCard) {
-                ProductCard card = (ProductCard) comp;
-                ProductData product = card.product;
+        loadingPage = true;
+        ProductFilter filter = currentFilter;
+        ProductData after = listModel.getElementAt(listModel.getSize() - 1);
 
-                boolean matches = true;
+        DataLoader.load(cardsPanel, () -> fetchProductPage(filter, after), rows -> {
+            loadingPage = false;
+            listModel.addProducts(takePage(rows));
+        }, ex -> {
+            loadingPage = false;
+            showError("Failed to load products.", ex);
+        });
+    }
 
-                // Search filter
-                if (!searchText.isEmpty()) {
-                    String name = product.name != null ? product.name.toLowerCase() : "";
-                    String desc = product.description != null ? product.description.toLowerCase() : "";
-                    String supplier = product.supplierName != null ? product.supplierName.toLowerCase() : "";
+    // Pages are fetched with one extra row so we know whether another page exists
+    private List<ProductData> takePage(List<ProductData> rows) {
+        hasMorePages = rows.size() > PAGE_SIZE;
+        return hasMorePages ? rows.subList(0, PAGE_SIZE) : rows;
+    }
 
-                    matches = name.contains(searchText) ||
-                            desc.contains(searchText) ||
-                            supplier.contains(searchText);
-                }
+    // Runs on the loader thread: one page of products matching filter, ordered by (name, id), after the given row
+    static List<ProductData> fetchProductPage(ProductFilter filter, ProductData after) throws SQLException {
+        // Cards show supplier and location names from the catalog, so have it loaded before they paint
+        Catalog.get();
 
-                // Status filter
-                if (matches && !"All".equals(statusFilter)) {
-                    matches = statusFilter.equals(product.status);
-                }
+        String stockSql = "(SELECT COALESCE(SUM(b.on_hand), 0) FROM StockBalance b WHERE b.product_id = p.product_id)";
 
-                // Category filter
-                if (matches && !"All".equals(categoryFilter)) {
-                    matches = categoryFilter.equals(product.category);
-                }
+        StringBuilder sql = new StringBuilder(
+                "SELECT p.product_id, p.product_name, p.description, p.category, " +
+                "p.unit_of_measure, p.reorder_level, p.supplier_id, p.location_id, p.product_status, " +
+                stockSql + " AS current_stock " +
+                "FROM Product p");
+        List<Object> params = new ArrayList<>();
 
-                // Low stock filter
-                if (matches && lowStockOnly) {
-                    matches = product.currentStock.compareTo(product.reorderLevel) <= 0;
-                }
+        if (!filter.search.isEmpty()) {
+            // Searching also matches the supplier name, the only reason to join Supplier
+            sql.append(" LEFT JOIN Supplier s ON p.supplier_id = s.supplier_id");
+        }
+        sql.append(" WHERE 1 = 1");
+        if (!filter.search.isEmpty()) {
+            String pattern = "%" + escapeLike(filter.search) + "%";
+            sql.append(" AND (p.product_name LIKE ? OR p.description LIKE ? OR s.supplier_name LIKE ?)");
+            params.add(pattern);
+            params.add(pattern);
+            params.add(pattern);
+        }
+        if (!"All".equals(filter.status)) {
+            sql.append(" AND p.product_status = ?");
+            params.add(filter.status);
+        }
+        if (!"All".equals(filter.category)) {
+            sql.append(" AND p.category = ?");
+            params.add(filter.category);
+        }
+        if (filter.lowStockOnly) {
+            sql.append(" AND ").append(stockSql).append(" <= p.reorder_level");
+        }
+        if (after != null) {
+            // Keyset pagination: continue after the last row already shown
+            sql.append(" AND (p.product_name > ? OR (p.product_name = ? AND p.product_id > ?))");
+            params.add(after.name);
+            params.add(after.name);
+            params.add(after.id);
+        }
+        sql.append(" ORDER BY p.product_name, p.product_id LIMIT ?");
+        params.add(PAGE_SIZE + 1);
 
-                card.setVisible(matches);
+        List<ProductData> products = new ArrayList<>();
+        try (Connection conn = DBUtils.getConn();
+             PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            DataLoader.watch(ps);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
 
-                // Also hide/show the spacing component that follows this card
-                if (i + 1 < components.length && !(components[i + 1] instanceof ProductCard)) {
-                    components[i + 1].setVisible(matches);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    products.add(new ProductData(
+                            rs.getInt("product_id"),
+                            rs.getString("product_name"),
+                            rs.getString("description"),
+                            rs.getString("category"),
+                            rs.getString("unit_of_measure"),
+                            rs.getBigDecimal("reorder_level"),
+                            rs.getInt("supplier_id"),
+                            rs.getInt("location_id"),
+                            rs.getString("product_status"),
+                            rs.getBigDecimal("current_stock")
+                    ));
                 }
             }
         }
+        return products;
+    }
 
-        cardsPanel.revalidate();
-        cardsPanel.repaint();
+    // Match search text literally: % and _ are wildcards in LIKE
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     private void addProduct() {
@@ -507,7 +685,7 @@ public class ProductPanel extends JPanel {
                 "(product_name, description, category, unit_of_measure, reorder_level, supplier_id, location_id, product_status) " +
                 "VALUES (?,?,?,?,?,?,?,?)";
         try (Connection conn = DBUtils.getConn();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             ps.setString(1, tfName.getText().trim());
 
@@ -534,9 +712,10 @@ public class ProductPanel extends JPanel {
 
             ps.setString(8, (String) cbStatus.getSelectedItem());
             ps.executeUpdate();
+            int id = DBUtils.generatedKey(ps);
+            ChangeBus.publish(new ChangeBus.ProductChanged(ChangeBus.Kind.INSERTED, id, Catalog.productChanged(conn, id)));
 
             showSuccess("Product added successfully!");
-            loadProducts();
             clearForm();
         } catch (SQLException ex) {
             showError("Failed to add product.", ex);
@@ -544,7 +723,7 @@ public class ProductPanel extends JPanel {
     }
 
     private void updateSelectedProduct() {
-        if (selectedCard == null) {
+        if (selectedProduct == null) {
             DBUtils.info("Please select a product first.");
             return;
         }
@@ -553,7 +732,7 @@ public class ProductPanel extends JPanel {
             return;
         }
 
-        int id = selectedCard.product.id;
+        int id = selectedProduct.id;
 
         if (JOptionPane.showConfirmDialog(
                 this, "Update product #" + id + "?", "Confirm",
@@ -590,22 +769,22 @@ public class ProductPanel extends JPanel {
             ps.setString(8, (String) cbStatus.getSelectedItem());
             ps.setInt(9, id);
             ps.executeUpdate();
+            ChangeBus.publish(new ChangeBus.ProductChanged(ChangeBus.Kind.UPDATED, id, Catalog.productChanged(conn, id)));
 
             showSuccess("Product updated successfully!");
-            loadProducts();
         } catch (SQLException ex) {
             showError("Failed to update product.", ex);
         }
     }
 
     private void deleteSelectedProduct() {
-        if (selectedCard == null) {
+        if (selectedProduct == null) {
             DBUtils.info("Please select a product first.");
             return;
         }
 
-        int id = selectedCard.product.id;
-        String name = selectedCard.product.name;
+        int id = selectedProduct.id;
+        String name = selectedProduct.name;
 
         int choice = JOptionPane.showConfirmDialog(
                 this,
@@ -621,31 +800,107 @@ public class ProductPanel extends JPanel {
              PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, id);
             ps.executeUpdate();
+            ChangeBus.publish(new ChangeBus.ProductChanged(ChangeBus.Kind.DELETED, id, Catalog.productChanged(conn, id)));
 
             showSuccess("Product deleted successfully!");
-            loadProducts();
             clearForm();
         } catch (SQLException ex) {
             showError("Failed to delete product.", ex);
         }
     }
 
+    // ---------- CHANGE EVENTS ----------
+    // Edits and movements are applied to the loaded listing in place instead of re-querying it
+    private void subscribeToChanges() {
+        ChangeBus.subscribe(ChangeBus.ProductChanged.class, this::applyProductChange);
+        ChangeBus.subscribe(ChangeBus.MovementsInserted.class, this::applyStockChange);
+        ChangeBus.subscribe(ChangeBus.Reload.class, change -> refresh());
+        // Cards look supplier and location names up in the catalog when they paint
+        ChangeBus.subscribe(ChangeBus.SupplierChanged.class, change -> {
+            loadComboData();
+            productList.repaint();
+        });
+        ChangeBus.subscribe(ChangeBus.LocationChanged.class, change -> {
+            loadComboData();
+            productList.repaint();
+        });
+    }
+
+    private void applyProductChange(ChangeBus.ProductChanged change) {
+        int index = listModel.indexOf(change.id);
+        ProductData old = index >= 0 ? listModel.getElementAt(index) : null;
+        if (loadingPage || (old == null && change.kind == ChangeBus.Kind.UPDATED)
+                || (change.after != null && hasMorePages)) {
+            // A page in flight may predate the change, the product's stock is not known here, or
+            // only the database can tell whether it falls in a page that is not loaded yet
+            applyFilters();
+            return;
+        }
+
+        boolean wasEmpty = listModel.getSize() == 0;
+        if (old != null) {
+            listModel.remove(index);
+        }
+        Catalog.Product after = change.after;
+        if (after != null) {
+            ProductData product = new ProductData(after.id, after.name, after.description, after.category,
+                    after.uom, after.reorderLevel, after.supplierId, after.locationId, after.status,
+                    old != null ? old.currentStock : BigDecimal.ZERO);
+            if (currentFilter.matches(product)) {
+                listModel.insert(product, PRODUCT_ORDER);
+            }
+            if (isSelected(product)) {
+                selectedProduct = product;
+            }
+        }
+
+        if (wasEmpty != (listModel.getSize() == 0)) {
+            // Switch between the list and the "no products" message
+            showFirstPage(currentFilter, listModel.getProducts());
+        }
+    }
+
+    private void applyStockChange(ChangeBus.MovementsInserted change) {
+        if (loadingPage || currentFilter.lowStockOnly) {
+            // Products may have crossed their reorder level, into or out of the listing
+            applyFilters();
+            return;
+        }
+        Map<Integer, BigDecimal> deltas = change.stockDeltas();
+        for (int i = 0; i < listModel.getSize(); i++) {
+            ProductData product = listModel.getElementAt(i);
+            BigDecimal delta = deltas.get(product.id);
+            if (delta != null) {
+                product.currentStock = product.currentStock.add(delta);
+            }
+        }
+        productList.repaint();
+    }
+
     // ---------- PRODUCT CARD ----------
+    // A single card component reused by the renderer to paint every visible row
     private class ProductCard extends JPanel {
-        private final ProductData product;
-        private boolean selected = false;
+        private ProductData product;
         private final int radius = 15;
 
-        public ProductCard(ProductData product) {
-            this.product = product;
+        private final JLabel lblId;
+        private final JLabel lblName = new JLabel();
+        private final JLabel lblSupplier = new JLabel();
+        private final JLabel warningIcon = new JLabel("*");
+        private final JLabel lblStock = new JLabel();
+        private final JLabel lblDesc = new JLabel();
+        private final JLabel lblStatus;
+        private final JLabel lblCategory = createInfoBadge("", Color.WHITE);
+        private final JLabel lblLocation = createInfoBadge("", Color.WHITE);
+        private final JLabel lblUom = createInfoBadge("", Color.WHITE);
+
+        public ProductCard() {
             setLayout(new BorderLayout(15, 10));
             setBackground(CARD_BG);
             setBorder(BorderFactory.createCompoundBorder(
                     BorderFactory.createEmptyBorder(2, 2, 2, 2),
                     new EmptyBorder(15, 15, 15, 15)
             ));
-            setMaximumSize(new Dimension(Integer.MAX_VALUE, 130));
-            setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
             setOpaque(false);
 
             // Left: Category Icon
@@ -657,7 +912,7 @@ public class ProductPanel extends JPanel {
                     g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
                     // Determine category and colors
-                    String category = product.category != null ? product.category.toLowerCase() : "";
+                    String category = product != null && product.category != null ? product.category.toLowerCase() : "";
                     Color bgColor = getCategoryBackgroundColor(category);
                     String emoji = getCategoryEmoji(category);
 
@@ -696,7 +951,7 @@ public class ProductPanel extends JPanel {
             leftPanel.setOpaque(false);
 
             // ID Badge
-            JLabel lblId = new JLabel(String.format("#%d", product.id)) {
+            lblId = new JLabel() {
                 @Override
                 protected void paintComponent(Graphics g) {
                     Graphics2D g2 = (Graphics2D) g.create();
@@ -715,12 +970,10 @@ public class ProductPanel extends JPanel {
             leftPanel.add(lblId);
 
             // Name
-            JLabel lblName = new JLabel(product.name != null ? product.name : "Unnamed Product");
             lblName.setFont(lexendBold);
             leftPanel.add(lblName);
 
             // Supplier
-            JLabel lblSupplier = new JLabel("(" + (product.supplierName != null ? product.supplierName : "No Supplier") + ")");
             lblSupplier.setFont(lexendRegular);
             lblSupplier.setForeground(new Color(0x888888));
             leftPanel.add(lblSupplier);
@@ -731,23 +984,11 @@ public class ProductPanel extends JPanel {
             JPanel stockPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
             stockPanel.setOpaque(false);
 
-            JLabel lblStock = new JLabel(String.format("%.2f / %.2f",
-                    product.currentStock,
-                    product.reorderLevel));
-            lblStock.setFont(lexendBold.deriveFont(14f));
-
-            // Check if restocking is needed
-            if (product.currentStock.compareTo(product.reorderLevel) <= 0) {
-                lblStock.setForeground(WARNING_COLOR);
-                JLabel warningIcon = new JLabel("*");
-                warningIcon.setFont(lexendBold.deriveFont(16f));
-                warningIcon.setForeground(WARNING_COLOR);
-                warningIcon.setToolTipText("Stock below reorder level!");
-                stockPanel.add(warningIcon);
-            } else {
-                lblStock.setForeground(Color.BLACK);
-            }
+            warningIcon.setFont(lexendBold.deriveFont(16f));
+            warningIcon.setForeground(WARNING_COLOR);
+            stockPanel.add(warningIcon);
 
+            lblStock.setFont(lexendBold.deriveFont(14f));
             stockPanel.add(lblStock);
             topRow.add(stockPanel, BorderLayout.EAST);
 
@@ -758,10 +999,6 @@ public class ProductPanel extends JPanel {
             descPanel.setOpaque(false);
             descPanel.setBorder(new EmptyBorder(0, 8, 0, 0));
 
-            String description = product.description != null && !product.description.trim().isEmpty()
-                    ? product.description
-                    : "No description available";
-            JLabel lblDesc = new JLabel(description);
             lblDesc.setFont(lexendRegular.deriveFont(12f));
             lblDesc.setForeground(new Color(0x666666));
             descPanel.add(lblDesc, BorderLayout.WEST);
@@ -774,7 +1011,7 @@ public class ProductPanel extends JPanel {
             bottomRow.setBorder(new EmptyBorder(20, 0, 0, 0));
 
             // Status badge
-            JLabel lblStatus = new JLabel(product.status != null ? product.status : "Unknown") {
+            lblStatus = new JLabel() {
                 @Override
                 protected void paintComponent(Graphics g) {
                     Graphics2D g2 = (Graphics2D) g.create();
@@ -788,54 +1025,58 @@ public class ProductPanel extends JPanel {
             lblStatus.setFont(lexendRegular.deriveFont(12f));
             lblStatus.setForeground(Color.WHITE);
             lblStatus.setOpaque(false);
-            lblStatus.setBackground("Active".equals(product.status) ? ACTIVE_GREEN : INACTIVE_RED);
             lblStatus.setBorder(new EmptyBorder(3, 8, 3, 8));
             bottomRow.add(lblStatus);
 
-            bottomRow.add(createInfoBadge(product.category != null ? product.category : "N/A", Color.WHITE));
-            bottomRow.add(createInfoBadge(product.locationName != null ? product.locationName : "No Location", Color.WHITE));
-            bottomRow.add(createInfoBadge(product.uom != null ? product.uom : "N/A", Color.WHITE));
+            bottomRow.add(lblCategory);
+            bottomRow.add(lblLocation);
+            bottomRow.add(lblUom);
 
             contentPanel.add(bottomRow, BorderLayout.SOUTH);
 
             // Add content panel to card
             add(contentPanel, BorderLayout.CENTER);
+        }
 
-            // Click handler
-            addMouseListener(new MouseAdapter() {
-                @Override
-                public void mouseClicked(MouseEvent e) {
-                    if (selected) {
-                        // Deselect
-                        setSelected(false);
-                        selectedCard = null;
-                        clearForm();
-                    } else {
-                        // Deselect previous
-                        if (selectedCard != null) {
-                            selectedCard.setSelected(false);
-                        }
-                        // Select this
-                        setSelected(true);
-                        selectedCard = ProductCard.this;
-                        fillFormFromProduct(product);
-                    }
-                }
+        // Point the card at another product; called by the renderer for each visible row
+        public void setProduct(ProductData product, boolean selected, boolean hovered) {
+            this.product = product;
 
-                @Override
-                public void mouseEntered(MouseEvent e) {
-                    if (!selected) {
-                        setBackground(new Color(0xF5F5F5));
-                    }
-                }
+            lblId.setText(String.format("#%d", product.id));
+            lblName.setText(product.name != null ? product.name : "Unnamed Product");
+            String supplierName = product.supplierName();
+            lblSupplier.setText("(" + (supplierName != null ? supplierName : "No Supplier") + ")");
 
-                @Override
-                public void mouseExited(MouseEvent e) {
-                    if (!selected) {
-                        setBackground(CARD_BG);
-                    }
-                }
-            });
+            lblStock.setText(String.format("%.2f / %.2f",
+                    product.currentStock,
+                    product.reorderLevel));
+
+            // Check if restocking is needed
+            boolean lowStock = product.currentStock.compareTo(product.reorderLevel) <= 0;
+            warningIcon.setVisible(lowStock);
+            lblStock.setForeground(lowStock ? WARNING_COLOR : Color.BLACK);
+            setToolTipText(lowStock ? "Stock below reorder level!" : null);
+
+            String description = product.description != null && !product.description.trim().isEmpty()
+                    ? product.description
+                    : "No description available";
+            lblDesc.setText(description);
+
+            lblStatus.setText(product.status != null ? product.status : "Unknown");
+            lblStatus.setBackground("Active".equals(product.status) ? ACTIVE_GREEN : INACTIVE_RED);
+
+            lblCategory.setText(product.category != null ? product.category : "N/A");
+            String locationName = product.locationName();
+            lblLocation.setText(locationName != null ? locationName : "No Location");
+            lblUom.setText(product.uom != null ? product.uom : "N/A");
+
+            if (selected) {
+                setBackground(new Color(0xFFE0C7));
+            } else if (hovered) {
+                setBackground(new Color(0xF5F5F5));
+            } else {
+                setBackground(CARD_BG);
+            }
         }
 
         @Override
@@ -871,16 +1112,6 @@ public class ProductPanel extends JPanel {
             return badge;
         }
 
-        public void setSelected(boolean selected) {
-            this.selected = selected;
-            if (selected) {
-                setBackground(new Color(0xFFE0C7));
-            } else {
-                setBackground(CARD_BG);
-            }
-            repaint();
-        }
-
         // Category color mapping - simplified to broad categories
         private Color getCategoryBackgroundColor(String category) {
             if (category.contains("ingredient")) {
@@ -920,22 +1151,140 @@ public class ProductPanel extends JPanel {
         }
     }
 
+    // ---------- PRODUCT LIST RENDERER ----------
+    // Paints rows with one shared ProductCard, leaving a gap below each card
+    private class ProductCardRenderer implements ListCellRenderer<ProductData> {
+        private final ProductCard card = new ProductCard();
+        private final JPanel cell = new JPanel(new BorderLayout());
+
+        ProductCardRenderer() {
+            cell.setOpaque(false);
+            cell.setBorder(new EmptyBorder(0, 0, CARD_GAP, 0));
+            cell.add(card, BorderLayout.CENTER);
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends ProductData> list, ProductData product,
+                                                      int index, boolean isSelected, boolean cellHasFocus) {
+            card.setProduct(product, isSelected(product), index == hoverIndex);
+            cell.setToolTipText(card.getToolTipText());
+            return cell;
+        }
+    }
+
+    // ---------- PRODUCT LIST MODEL ----------
+    private static class ProductListModel extends AbstractListModel<ProductData> {
+        private final List<ProductData> products = new ArrayList<>();
+
+        public void setProducts(List<ProductData> rows) {
+            int oldSize = products.size();
+            products.clear();
+            if (oldSize > 0) {
+                fireIntervalRemoved(this, 0, oldSize - 1);
+            }
+            addProducts(rows);
+        }
+
+        public void addProducts(List<ProductData> rows) {
+            if (rows.isEmpty()) return;
+            int start = products.size();
+            products.addAll(rows);
+            fireIntervalAdded(this, start, products.size() - 1);
+        }
+
+        public int indexOf(int productId) {
+            for (int i = 0; i < products.size(); i++) {
+                if (products.get(i).id == productId) return i;
+            }
+            return -1;
+        }
+
+        public void remove(int index) {
+            products.remove(index);
+            fireIntervalRemoved(this, index, index);
+        }
+
+        // Add product at its place in a list sorted by order
+        public void insert(ProductData product, Comparator<ProductData> order) {
+            int index = 0;
+            while (index < products.size() && order.compare(products.get(index), product) < 0) {
+                index++;
+            }
+            products.add(index, product);
+            fireIntervalAdded(this, index, index);
+        }
+
+        public List<ProductData> getProducts() {
+            return new ArrayList<>(products);
+        }
+
+        @Override
+        public int getSize() {
+            return products.size();
+        }
+
+        @Override
+        public ProductData getElementAt(int index) {
+            return products.get(index);
+        }
+    }
+
+    // ---------- PRODUCT FILTER ----------
+    // Snapshot of the filter controls, taken on the EDT and used by every page of one listing
+    static class ProductFilter {
+        static final ProductFilter ALL = new ProductFilter("", "All", "All", false);
+
+        final String search;
+        final String status;
+        final String category;
+        final boolean lowStockOnly;
+
+        ProductFilter(String search, String status, String category, boolean lowStockOnly) {
+            this.search = search;
+            this.status = status;
+            this.category = category;
+            this.lowStockOnly = lowStockOnly;
+        }
+
+        boolean isEmpty() {
+            return search.isEmpty() && "All".equals(status) && "All".equals(category) && !lowStockOnly;
+        }
+
+        // Whether product belongs in a listing with this filter, as the WHERE clause in fetchProductPage decides it
+        boolean matches(ProductData product) {
+            return (search.isEmpty() || matchesSearch(product, fold(search)))
+                    && ("All".equals(status) || status.equals(product.status))
+                    && ("All".equals(category) || category.equals(product.category))
+                    && (!lowStockOnly || product.currentStock.compareTo(product.reorderLevel) <= 0);
+        }
+
+        // Same status/category/low-stock and a longer search: every match is among previous's matches
+        boolean narrows(ProductFilter previous) {
+            return status.equals(previous.status)
+                    && category.equals(previous.category)
+                    && lowStockOnly == previous.lowStockOnly
+                    && fold(search).startsWith(fold(previous.search))
+                    && !fold(search).equals(fold(previous.search));
+        }
+    }
+
     // ---------- PRODUCT DATA CLASS ----------
-    private static class ProductData {
+    // Package-private: fetchProductPage returns it to Startup and Benchmarks
+    static class ProductData {
         int id;
         String name;
         String description;
         String category;
         String uom;
         BigDecimal reorderLevel;
-        String supplierName;
-        String locationName;
+        int supplierId;
+        int locationId;
         String status;
         BigDecimal currentStock;
 
         public ProductData(int id, String name, String description, String category,
                            String uom, BigDecimal reorderLevel,
-                           String supplierName, String locationName, String status,
+                           int supplierId, int locationId, String status,
                            BigDecimal currentStock) {
             this.id = id;
             this.name = name;
@@ -943,11 +1292,20 @@ public class ProductPanel extends JPanel {
             this.category = category;
             this.uom = uom;
             this.reorderLevel = reorderLevel != null ? reorderLevel : BigDecimal.ZERO;
-            this.supplierName = supplierName;
-            this.locationName = locationName;
+            this.supplierId = supplierId;
+            this.locationId = locationId;
             this.status = status;
             this.currentStock = currentStock != null ? currentStock : BigDecimal.ZERO;
         }
+
+        // Looked up on every paint, so a renamed supplier or location shows without reloading
+        String supplierName() {
+            return Catalog.snapshot().supplierName(supplierId);
+        }
+
+        String locationName() {
+            return Catalog.snapshot().locationName(locationId);
+        }
     }
 
     // ---------- CUSTOM COMPONENTS ----------
@@ -0,0 +1,83 @@
+/**
+ * Named SQL for the panel loaders.
+ *
+ * Panels prepare these through an ordinary pooled connection; ConnectionPool
+ * caches prepared statements per connection by SQL text, so keeping each
+ * query as one constant string (instead of rebuilding it in every load
+ * method) is what lets repeated loads hit that cache. Report SQL lives in
+ * ReportQueries and ledger SQL in StockLedger, next to the code that binds it.
+ * Cache hit rates: DBUtils.getPool().statementCacheStats().
+ */
+public class QueryRepository {
+
+    // ===== CATALOG =====
+    // Every row of the reference tables, loaded once into Catalog
+    public static final String CATALOG_SUPPLIERS =
+            "SELECT supplier_id, supplier_name, contact_person, contact_number, email, address, supplier_status " +
+            "FROM Supplier";
+
+    public static final String CATALOG_LOCATIONS =
+            "SELECT location_id, location_name, area_description, capacity, temperature_control " +
+            "FROM StorageLocation";
+
+    public static final String CATALOG_PRODUCTS =
+            "SELECT product_id, product_name, description, category, unit_of_measure, reorder_level, " +
+            "supplier_id, location_id, product_status " +
+            "FROM Product";
+
+    // One row re-read after it was written. Params: id
+    public static final String CATALOG_SUPPLIER = CATALOG_SUPPLIERS + " WHERE supplier_id = ?";
+    public static final String CATALOG_LOCATION = CATALOG_LOCATIONS + " WHERE location_id = ?";
+    public static final String CATALOG_PRODUCT = CATALOG_PRODUCTS + " WHERE product_id = ?";
+
+    // ===== SUPPLIERS =====
+    // Purchase count per supplier; suppliers without purchases have no row
+    public static final String SUPPLIER_TRANSACTION_COUNTS =
+            "SELECT supplier_id, COUNT(*) AS transaction_count " +
+            "FROM StockMovement " +
+            "WHERE movement_type = 'IN' AND supplier_id IS NOT NULL " +
+            "GROUP BY supplier_id";
+
+    // Count and total of every purchase from a supplier. Params: supplier_id
+    public static final String SUPPLIER_TRANSACTION_SUMMARY =
+            "SELECT COUNT(*) AS transaction_count " +
+            "FROM StockMovement " +
+            "WHERE supplier_id = ? AND movement_type = 'IN'";
+
+    private static final String SUPPLIER_TRANSACTION_COLUMNS =
+            "SELECT sm.movement_id, sm.movement_date, sm.quantity, sm.amount, sm.reason, " +
+            "p.product_name, p.unit_of_measure, l.location_name " +
+            "FROM StockMovement sm " +
+            "JOIN Product p ON sm.product_id = p.product_id " +
+            "LEFT JOIN StorageLocation l ON sm.location_id = l.location_id " +
+            "WHERE sm.supplier_id = ? AND sm.movement_type = 'IN'";
+
+    // First page of a supplier's purchases, newest first. Params: supplier_id, limit
+    public static final String SUPPLIER_TRANSACTIONS =
+            SUPPLIER_TRANSACTION_COLUMNS +
+            " ORDER BY sm.movement_date DESC, sm.movement_id DESC LIMIT ?";
+
+    // Next page after a (movement_date, movement_id) cursor.
+    // Params: supplier_id, date, date, movement_id, limit
+    public static final String SUPPLIER_TRANSACTIONS_AFTER =
+            SUPPLIER_TRANSACTION_COLUMNS +
+            " AND (sm.movement_date < ? OR (sm.movement_date = ? AND sm.movement_id < ?))" +
+            " ORDER BY sm.movement_date DESC, sm.movement_id DESC LIMIT ?";
+
+    // ===== LOCATIONS =====
+    // Products stored at a location with their stock; supplier names come from Catalog. Params: location_id
+    public static final String LOCATION_PRODUCTS =
+            "SELECT p.product_id, p.product_name, p.category, p.unit_of_measure, " +
+            "p.reorder_level, p.supplier_id, " +
+            "COALESCE(b.on_hand, 0) AS current_stock " +
+            "FROM Product p " +
+            "LEFT JOIN (SELECT product_id, SUM(on_hand) AS on_hand FROM StockBalance GROUP BY product_id) b " +
+            "ON b.product_id = p.product_id " +
+            "WHERE p.location_id = ? " +
+            "ORDER BY p.product_name";
+
+    // ===== MOVEMENTS =====
+    // Stock on hand per product; the product details for the movement forms come from Catalog
+    public static final String PRODUCT_STOCK =
+            "SELECT product_id, SUM(on_hand) AS on_hand FROM StockBalance GROUP BY product_id";
+}
@@ -0,0 +1,271 @@
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Per-query latency statistics, fed by ConnectionPool for every statement run
+ * on a pooled connection (DBUtils installs it).
+ *
+ * Each query is identified by its SQL id, the name of the constant holding
+ * its SQL (e.g. QueryRepository.SUPPLIER_TRANSACTIONS) or "SELECT Product" style for
+ * SQL built on the fly, and by the panel method that ran it. For each pair it
+ * keeps a histogram of total time (execution plus fetching the rows) and
+ * totals of rows, execution and fetch time. Queries slower than
+ * cloudkitchen.slowQueryMs (default 500) are appended to the slow-query log
+ * (cloudkitchen.slowQueryLog, default slow-queries.log) by a background
+ * writer, so a slow disk never holds up the threads running queries. Every query is also
+ * emitted as a cloudkitchen.Query JFR event, so a flight recording shows them
+ * next to GC and thread activity. DiagnosticsDialog shows the current numbers.
+ */
+public class QueryStats implements ConnectionPool.QueryListener {
+
+    public static final long SLOW_QUERY_MS = Long.getLong("cloudkitchen.slowQueryMs", 500);
+    private static final String SLOW_QUERY_LOG = System.getProperty("cloudkitchen.slowQueryLog", "slow-queries.log");
+
+    // Classes whose SQL constants are named in the stats
+    private static final Class<?>[] SQL_HOLDERS = {QueryRepository.class, ReportQueries.class, StockLedger.class};
+    private static final Pattern TABLE = Pattern.compile("(?i)\\b(?:from|into|update)\\s+([A-Za-z_][A-Za-z0-9_]*)");
+
+    public static final QueryStats INSTANCE = new QueryStats();
+
+    /** Stats for one (SQL id, caller) pair */
+    public static class Row {
+        public final String sqlId;
+        public final String caller;
+        final LatencyHistogram total = new LatencyHistogram();
+        long rows = 0;
+        long executeNanos = 0;
+        long fetchNanos = 0;
+
+        Row(String sqlId, String caller) {
+            this.sqlId = sqlId;
+            this.caller = caller;
+        }
+
+        public long getCount() { return total.getCount(); }
+        public long getRows() { return rows; }
+        public double getMeanMillis() { return total.meanMillis(); }
+        public double getP50Millis() { return total.percentileMillis(50); }
+        public double getP95Millis() { return total.percentileMillis(95); }
+        public double getMaxMillis() { return total.maxMillis(); }
+        public double getExecuteMillis() { return executeNanos / 1e6; }
+        public double getFetchMillis() { return fetchNanos / 1e6; }
+        public String getBuckets() { return total.buckets(); }
+
+        Row copy() {
+            Row copy = new Row(sqlId, caller);
+            copy.total.merge(total);
+            copy.rows = rows;
+            copy.executeNanos = executeNanos;
+            copy.fetchNanos = fetchNanos;
+            return copy;
+        }
+    }
+
+    private static class Key {
+        final String sqlId;
+        final String caller;
+
+        Key(String sqlId, String caller) {
+            this.sqlId = sqlId;
+            this.caller = caller;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return sqlId.equals(other.sqlId) && caller.equals(other.caller);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sqlId, caller);
+        }
+    }
+
+    @Name("cloudkitchen.Query")
+    @Label("Database Query")
+    @Category({"Cloud Kitchen", "Database"})
+    static class QueryEvent extends Event {
+        @Label("SQL Id")
+        String sqlId;
+
+        @Label("Caller")
+        String caller;
+
+        @Label("Rows")
+        long rows;
+
+        @Label("Execution Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long executionTime;
+
+        @Label("Fetch Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long fetchTime;
+    }
+
+    // Guarded by "this"
+    private final Map<Key, Row> rows = new HashMap<>();
+    private final Map<String, String> namedSql = new HashMap<>();
+    private final Map<String, String> sqlIds = new ConcurrentHashMap<>();
+
+    // Appends slow-query lines in order; slowLogFailed is only touched on this thread
+    private final ExecutorService slowLogWriter = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "slow-query-log");
+        t.setDaemon(true);
+        return t;
+    });
+    private boolean slowLogFailed = false;
+
+    private QueryStats() {
+        for (Class<?> holder : SQL_HOLDERS) {
+            for (Field field : holder.getDeclaredFields()) {
+                int mods = field.getModifiers();
+                if (field.getType() != String.class || !Modifier.isStatic(mods) || !Modifier.isFinal(mods)) continue;
+                try {
+                    field.setAccessible(true);
+                    namedSql.putIfAbsent((String) field.get(null), holder.getSimpleName() + "." + field.getName());
+                } catch (ReflectiveOperationException | RuntimeException ignored) {
+                }
+            }
+        }
+    }
+
+    @Override
+    public ConnectionPool.QueryTrace begin(String sql) {
+        String sqlId = sqlIds.computeIfAbsent(sql, this::idFor);
+        String caller = caller();
+        QueryEvent event = new QueryEvent();
+        event.begin();
+
+        return (rowCount, executeNanos, fetchNanos) -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.sqlId = sqlId;
+                event.caller = caller;
+                event.rows = rowCount;
+                event.executionTime = executeNanos;
+                event.fetchTime = fetchNanos;
+                event.commit();
+            }
+            record(sqlId, caller, sql, rowCount, executeNanos, fetchNanos);
+        };
+    }
+
+    private void record(String sqlId, String caller, String sql, long rowCount, long executeNanos, long fetchNanos) {
+        long totalNanos = executeNanos + fetchNanos;
+        synchronized (this) {
+            Row row = rows.computeIfAbsent(new Key(sqlId, caller), k -> new Row(sqlId, caller));
+            row.total.record(totalNanos);
+            row.rows += rowCount;
+            row.executeNanos += executeNanos;
+            row.fetchNanos += fetchNanos;
+        }
+
+        if (totalNanos >= SLOW_QUERY_MS * 1_000_000) {
+            logSlowQuery(String.format("%s total=%dms exec=%dms fetch=%dms rows=%d id=%s caller=%s sql=%s",
+                    LocalDateTime.now(), totalNanos / 1_000_000,
+                    executeNanos / 1_000_000, fetchNanos / 1_000_000, rowCount,
+                    sqlId, caller, sql.replaceAll("\\s+", " ").trim()));
+        }
+    }
+
+    /** Copies of the current stats, slowest total time first */
+    public synchronized List<Row> snapshot() {
+        List<Row> copy = new ArrayList<>();
+        for (Row row : rows.values()) {
+            copy.add(row.copy());
+        }
+        copy.sort((a, b) -> Double.compare(b.total.totalMillis(), a.total.totalMillis()));
+        return copy;
+    }
+
+    public synchronized void reset() {
+        rows.clear();
+    }
+
+    // The line is built on the query's thread, the file is opened and appended to on slowLogWriter
+    private void logSlowQuery(String line) {
+        slowLogWriter.execute(() -> {
+            if (slowLogFailed) return;
+            try (PrintWriter out = new PrintWriter(new FileWriter(SLOW_QUERY_LOG, true))) {
+                out.println(line);
+            } catch (IOException ex) {
+                slowLogFailed = true;
+                System.err.println("Cannot write slow-query log " + SLOW_QUERY_LOG + ": " + ex.getMessage());
+            }
+        });
+    }
+
+    // Constant name for known SQL, otherwise the statement verb and first table
+    private synchronized String idFor(String sql) {
+        String name = namedSql.get(sql);
+        if (name != null) return name;
+
+        String trimmed = sql.trim();
+        int space = trimmed.indexOf(' ');
+        String verb = (space > 0 ? trimmed.substring(0, space) : trimmed).toUpperCase();
+        Matcher m = TABLE.matcher(trimmed);
+        return m.find() ? verb + " " + m.group(1) : verb;
+    }
+
+    /**
+     * The method that ran the query: the first frame in a panel class if there is
+     * one, otherwise the first frame outside the pool and loader plumbing.
+     * Lambdas are reported as the method that created them.
+     */
+    static String caller() {
+        return StackWalker.getInstance().walk(frames -> {
+            String first = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String cls = frame.getClassName();
+                if (isPlumbing(cls)) continue;
+
+                String name = describe(frame);
+                if (cls.endsWith("Panel") || cls.contains("Panel$")) return name;
+                if (first == null) first = name;
+            }
+            return first != null ? first : "?";
+        });
+    }
+
+    private static boolean isPlumbing(String cls) {
+        return cls.startsWith("java.") || cls.startsWith("javax.") || cls.startsWith("jdk.")
+                || cls.startsWith("sun.") || cls.startsWith("com.sun.") || cls.startsWith("com.mysql.")
+                || cls.startsWith("ConnectionPool") || cls.equals("QueryStats") || cls.startsWith("QueryStats$")
+                || cls.startsWith("DataLoader") || cls.startsWith("$Proxy");
+    }
+
+    private static String describe(StackWalker.StackFrame frame) {
+        String cls = frame.getClassName();
+        String method = frame.getMethodName();
+        if (method.startsWith("lambda$")) {
+            int end = method.indexOf('$', "lambda$".length());
+            method = end > 0 ? method.substring("lambda$".length(), end) : method;
+            int dollar = cls.indexOf('$');
+            cls = dollar > 0 ? cls.substring(0, dollar) : cls;
+        }
+        return cls + "." + method;
+    }
+}
@@ -0,0 +1,157 @@
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bounded LRU cache of loaded report rows, keyed by report and period.
+ *
+ * Only closed periods (ending today or earlier) are cached: an open one such
+ * as This Week or the current month still gets sales from other terminals, so
+ * it is queried every time. A new movement only invalidates the reports it can
+ * change: range reports whose period contains its date, and inventory reports
+ * (stock as of the end of the period) ending after it. Entries are also
+ * dropped when products, suppliers or locations change (see DataVersion),
+ * since reports show their names and status. Writes made elsewhere to a
+ * closed period are picked up by clear(), which ReportPanel's Refresh calls.
+ *
+ * Loads take a stamp() before querying and hand it back to put(); rows are not
+ * cached if an invalidation happened in between, so a load racing with a new
+ * movement cannot store stale data.
+ */
+public class ReportCache {
+
+    private static final int MAX_ENTRIES = Integer.getInteger("cloudkitchen.reportCache.size", 64);
+
+    public static class Key {
+        final ReportExporter.Report report;
+        final LocalDate from;
+        final LocalDate to;
+
+        public Key(ReportExporter.Report report, ReportQueries.Period period) {
+            this.report = report;
+            this.from = period.from;
+            this.to = period.to;
+        }
+
+        // to is exclusive, so a period ending today does not include today
+        boolean isOpen() {
+            return to.isAfter(LocalDate.now());
+        }
+
+        boolean isTouchedBy(LocalDate movementDate) {
+            if (!movementDate.isBefore(to)) return false;
+            // Inventory is cumulative: any earlier movement changes stock at the end of the period
+            return report == ReportExporter.Report.INVENTORY || !movementDate.isBefore(from);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return report == other.report && from.equals(other.from) && to.equals(other.to);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(report, from, to);
+        }
+    }
+
+    /** Taken before a load and passed to put() */
+    public static class Stamp {
+        final long invalidations;
+        final long referenceVersion;
+
+        Stamp(long invalidations, long referenceVersion) {
+            this.invalidations = invalidations;
+            this.referenceVersion = referenceVersion;
+        }
+    }
+
+    private static class Entry {
+        final List<?> rows;
+        final long referenceVersion;
+
+        Entry(List<?> rows, long referenceVersion) {
+            this.rows = rows;
+            this.referenceVersion = referenceVersion;
+        }
+    }
+
+    // Guarded by the class lock
+    private static final Map<Key, Entry> ENTRIES = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private static long invalidations = 0;
+    private static long hits = 0;
+    private static long misses = 0;
+
+    private static long referenceVersion() {
+        return DataVersion.get(DataVersion.Table.PRODUCT, DataVersion.Table.SUPPLIER, DataVersion.Table.LOCATION);
+    }
+
+    /** Cached rows for key, or null. Rows are shared: callers must not modify them. */
+    @SuppressWarnings("unchecked")
+    public static synchronized <T> List<T> get(Key key) {
+        Entry entry = ENTRIES.get(key);
+        if (entry != null && entry.referenceVersion != referenceVersion()) {
+            ENTRIES.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return (List<T>) entry.rows;
+    }
+
+    public static synchronized Stamp stamp() {
+        return new Stamp(invalidations, referenceVersion());
+    }
+
+    /** Cache rows loaded after stamp was taken, unless something was invalidated since or the period is open */
+    public static synchronized void put(Key key, List<?> rows, Stamp stamp) {
+        if (key.isOpen() || stamp.invalidations != invalidations || stamp.referenceVersion != referenceVersion()) {
+            return;
+        }
+        ENTRIES.put(key, new Entry(List.copyOf(rows), stamp.referenceVersion));
+    }
+
+    /** Call after committing a movement dated movementDate */
+    public static void invalidate(LocalDate movementDate) {
+        invalidate(List.of(movementDate));
+    }
+
+    /** Call after committing movements on the given dates */
+    public static synchronized void invalidate(Collection<LocalDate> movementDates) {
+        invalidations++;
+        Iterator<Key> it = ENTRIES.keySet().iterator();
+        while (it.hasNext()) {
+            Key key = it.next();
+            for (LocalDate date : movementDates) {
+                if (key.isTouchedBy(date)) {
+                    it.remove();
+                    break;
+                }
+            }
+        }
+    }
+
+    /** Drop every entry, e.g. when the user asks for fresh numbers */
+    public static synchronized void clear() {
+        invalidations++;
+        ENTRIES.clear();
+    }
+
+    public static synchronized String stats() {
+        return String.format("%d entries, %d hits, %d misses", ENTRIES.size(), hits, misses);
+    }
+}
@@ -0,0 +1,259 @@
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.Locale;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Exports the four ReportPanel reports to CSV or XLSX.
+ *
+ * Rows are streamed from a forward-only, read-only cursor with MySQL's
+ * row-by-row fetch size straight into the output file, so memory use does not
+ * depend on the size of the report. XLSX files are written as a minimal
+ * SpreadsheetML package with inline strings, again row by row. No Swing code
+ * here: ReportPanel runs exports on the DataLoader pool, and
+ *
+ *   java ReportExporter <inventory|movement|supplier|sales> <year> <month> <file.csv|file.xlsx>
+ *
+ * does the same for one month from the command line.
+ */
+public class ReportExporter {
+
+    // Tells Connector/J to stream rows one at a time instead of buffering the whole result
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    /** Reads one result row into output cells */
+    private interface RowMapper {
+        Object[] map(ResultSet rs, ReportQueries.Period period) throws SQLException;
+    }
+
+    public enum Report {
+        INVENTORY("Inventory", ReportQueries.INVENTORY, true,
+                new String[]{"Product", "Location", "Stock", "Reorder Level"},
+                (rs, period) -> new Object[]{
+                        rs.getString("product_name"),
+                        rs.getString("location_name") != null ? rs.getString("location_name") : "No Location",
+                        orZero(rs.getBigDecimal("stock")),
+                        orZero(rs.getBigDecimal("reorder_level"))}),
+        STOCK_MOVEMENT("Stock Movement", ReportQueries.STOCK_MOVEMENT, false,
+                new String[]{"Product", "IN Movements", "OUT Movements", "IN Quantity", "OUT Quantity"},
+                (rs, period) -> new Object[]{
+                        rs.getString("product_name"),
+                        rs.getInt("in_count"),
+                        rs.getInt("out_count"),
+                        orZero(rs.getBigDecimal("in_qty")),
+                        orZero(rs.getBigDecimal("out_qty"))}),
+        SUPPLIER_DELIVERY("Supplier Delivery", ReportQueries.SUPPLIER_DELIVERY, false,
+                new String[]{"Supplier", "Deliveries", "Total Quantity"},
+                (rs, period) -> new Object[]{
+                        rs.getString("supplier_name"),
+                        rs.getInt("delivery_count"),
+                        orZero(rs.getBigDecimal("total_qty"))}),
+        SALES("Sales", ReportQueries.SALES, false,
+                new String[]{"Product", "Total Sold", "Days With Sales", "Average Daily Sales"},
+                (rs, period) -> {
+                    BigDecimal totalSold = orZero(rs.getBigDecimal("total_sold"));
+                    // Same average as the Sales report cards: over every day of the period
+                    BigDecimal avgDaily = totalSold.divide(BigDecimal.valueOf(period.days()), 2, RoundingMode.HALF_UP);
+                    return new Object[]{rs.getString("product_name"), totalSold, rs.getInt("days_with_sales"), avgDaily};
+                });
+
+        final String title;
+        final String sql;
+        final boolean bindsPeriodEnd;
+        final String[] columns;
+        final RowMapper mapper;
+
+        Report(String title, String sql, boolean bindsPeriodEnd, String[] columns, RowMapper mapper) {
+            this.title = title;
+            this.sql = sql;
+            this.bindsPeriodEnd = bindsPeriodEnd;
+            this.columns = columns;
+            this.mapper = mapper;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+    }
+
+    /**
+     * Write report for the given period to file; the format follows the file
+     * extension (.xlsx, anything else is CSV). Returns the number of data rows.
+     */
+    public static int export(Report report, ReportQueries.Period period, File file) throws SQLException, IOException {
+        boolean xlsx = file.getName().toLowerCase(Locale.ROOT).endsWith(".xlsx");
+
+        try (Connection conn = DBUtils.getConn();
+             PreparedStatement ps = conn.prepareStatement(report.sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            DataLoader.watch(ps);
+            ps.setFetchSize(STREAMING_FETCH_SIZE);
+            ReportQueries.bind(ps, report.bindsPeriodEnd ? ReportQueries.inventoryParams(period) : ReportQueries.rangeParams(period));
+
+            try (ResultSet rs = ps.executeQuery();
+                 SheetWriter out = xlsx ? new XlsxWriter(file, report.title) : new CsvWriter(file)) {
+                out.writeRow(report.columns);
+                int rows = 0;
+                while (rs.next()) {
+                    out.writeRow(report.mapper.map(rs, period));
+                    rows++;
+                }
+                return rows;
+            }
+        }
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private static String text(Object cell) {
+        if (cell == null) return "";
+        return cell instanceof BigDecimal ? ((BigDecimal) cell).toPlainString() : cell.toString();
+    }
+
+    public static void main(String[] args) throws SQLException, IOException {
+        if (args.length != 4) {
+            System.err.println("Usage: java ReportExporter <inventory|movement|supplier|sales> <year> <month> <file.csv|file.xlsx>");
+            System.exit(2);
+        }
+        Report report = switch (args[0]) {
+            case "inventory" -> Report.INVENTORY;
+            case "movement" -> Report.STOCK_MOVEMENT;
+            case "supplier" -> Report.SUPPLIER_DELIVERY;
+            case "sales" -> Report.SALES;
+            default -> throw new IllegalArgumentException("Unknown report " + args[0]);
+        };
+        ReportQueries.Period period = ReportQueries.Period.month(Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+        int rows = export(report, period, new File(args[3]));
+        System.out.println("Exported " + rows + " rows to " + args[3]);
+    }
+
+    // ===== WRITERS =====
+    private interface SheetWriter extends AutoCloseable {
+        void writeRow(Object[] cells) throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private static class CsvWriter implements SheetWriter {
+        private final Writer out;
+
+        CsvWriter(File file) throws IOException {
+            out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void writeRow(Object[] cells) throws IOException {
+            for (int i = 0; i < cells.length; i++) {
+                if (i > 0) out.write(',');
+                String value = text(cells[i]);
+                if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0) {
+                    value = "\"" + value.replace("\"", "\"\"") + "\"";
+                }
+                out.write(value);
+            }
+            out.write("\r\n");
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    // Minimal single-sheet workbook: the sheet XML is written while the rows stream in
+    private static class XlsxWriter implements SheetWriter {
+        private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+        private static final String REL_NS = "http://schemas.openxmlformats.org/package/2006/relationships";
+        private static final String DOC_REL = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+        private final ZipOutputStream zip;
+        private final Writer sheet;
+
+        XlsxWriter(File file, String sheetName) throws IOException {
+            zip = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+            sheet = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+
+            part("[Content_Types].xml",
+                    "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                    + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                    + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                    + "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+                    + "<Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"
+                    + "</Types>");
+            part("_rels/.rels",
+                    "<Relationships xmlns=\"" + REL_NS + "\">"
+                    + "<Relationship Id=\"rId1\" Type=\"" + DOC_REL + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+                    + "</Relationships>");
+            part("xl/workbook.xml",
+                    "<workbook xmlns=\"" + MAIN_NS + "\" xmlns:r=\"" + DOC_REL + "\">"
+                    + "<sheets><sheet name=\"" + escape(sheetName) + "\" sheetId=\"1\" r:id=\"rId1\"/></sheets>"
+                    + "</workbook>");
+            part("xl/_rels/workbook.xml.rels",
+                    "<Relationships xmlns=\"" + REL_NS + "\">"
+                    + "<Relationship Id=\"rId1\" Type=\"" + DOC_REL + "/worksheet\" Target=\"worksheets/sheet1.xml\"/>"
+                    + "</Relationships>");
+
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+            sheet.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+            sheet.write("<worksheet xmlns=\"" + MAIN_NS + "\"><sheetData>");
+        }
+
+        private void part(String name, String xml) throws IOException {
+            zip.putNextEntry(new ZipEntry(name));
+            zip.write(("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n" + xml).getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        @Override
+        public void writeRow(Object[] cells) throws IOException {
+            sheet.write("<row>");
+            for (Object cell : cells) {
+                if (cell instanceof BigDecimal || cell instanceof Integer) {
+                    String number = cell instanceof BigDecimal ? ((BigDecimal) cell).toPlainString() : cell.toString();
+                    sheet.write("<c><v>" + number + "</v></c>");
+                } else {
+                    sheet.write("<c t=\"inlineStr\"><is><t>" + escape(text(cell)) + "</t></is></c>");
+                }
+            }
+            sheet.write("</row>");
+        }
+
+        @Override
+        public void close() throws IOException {
+            sheet.write("</sheetData></worksheet>");
+            sheet.flush();
+            zip.closeEntry();
+            zip.close();
+        }
+
+        // XML-escape text and drop control characters XML 1.0 cannot carry
+        private static String escape(String text) {
+            StringBuilder sb = new StringBuilder(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '&' -> sb.append("&amp;");
+                    case '<' -> sb.append("&lt;");
+                    case '>' -> sb.append("&gt;");
+                    case '"' -> sb.append("&quot;");
+                    default -> {
+                        if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') sb.append(c);
+                    }
+                }
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -3,9 +3,17 @@ import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.io.File;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.sql.*;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.swing.filechooser.FileNameExtensionFilter;
 
 /**
  * ReportPanel - Shows 4 different reports with modern card-based UI
@@ -40,6 +48,7 @@ public class ReportPanel extends JPanel {
     private JScrollPane scrollPane;
     private final JComboBox<Integer> cbYear;
     private final JComboBox<String> cbMonth;
+    private final JComboBox<String> cbRange;
     private final RoundedButton btnInventory;
     private final RoundedButton btnStockMovement;
     private final RoundedButton btnSupplierDelivery;
@@ -48,6 +57,14 @@ public class ReportPanel extends JPanel {
     // 0 = Inventory, 1 = Stock Movement, 2 = Supplier Delivery, 3 = Sales
     private int currentReportType = 0;
 
+    // Range choices; Month / Quarter / Year to Date follow the year and month pickers
+    private static final String RANGE_MONTH = "Month";
+    private static final String RANGE_QUARTER = "Quarter";
+    private static final String RANGE_YTD = "Year to Date";
+    private static final String RANGE_WEEK = "This Week";
+    private static final String RANGE_CUSTOM = "Custom...";
+    private ReportQueries.Period customPeriod;
+
     public ReportPanel() {
         setLayout(new BorderLayout(10, 10));
         setBackground(BG_COLOR);
@@ -92,12 +109,50 @@ public class ReportPanel extends JPanel {
         cbMonth.setFont(lexendRegular);
         cbMonth.addActionListener(e -> loadReport());
 
+        JLabel lblRange = new JLabel("Range:");
+        lblRange.setFont(lexendRegular.deriveFont(13f));
+
+        cbRange = new JComboBox<>(new String[]{RANGE_MONTH, RANGE_QUARTER, RANGE_YTD, RANGE_WEEK, RANGE_CUSTOM});
+        cbRange.setPreferredSize(new Dimension(130, 30));
+        cbRange.setFont(lexendRegular);
+        cbRange.addActionListener(e -> {
+            if (RANGE_CUSTOM.equals(cbRange.getSelectedItem()) && !askCustomPeriod()) {
+                cbRange.setSelectedItem(RANGE_MONTH); // fires again and reloads
+                return;
+            }
+            loadReport();
+        });
+
+        filterBar.add(lblRange);
+        filterBar.add(cbRange);
+        filterBar.add(Box.createHorizontalStrut(10));
         filterBar.add(lblYear);
         filterBar.add(cbYear);
         filterBar.add(Box.createHorizontalStrut(10));
         filterBar.add(lblMonth);
         filterBar.add(cbMonth);
 
+        RoundedButton btnExport = new RoundedButton("Export...", 15);
+        btnExport.setPreferredSize(new Dimension(110, 30));
+        btnExport.setFont(lexendRegular);
+        btnExport.setBackground(ACCENT_COLOR);
+        btnExport.setForeground(Color.WHITE);
+        btnExport.addActionListener(e -> exportReport());
+        filterBar.add(Box.createHorizontalStrut(10));
+        filterBar.add(btnExport);
+
+        // Cached reports only know about movements made here; Refresh re-runs the query
+        RoundedButton btnRefresh = new RoundedButton("Refresh", 15);
+        btnRefresh.setPreferredSize(new Dimension(110, 30));
+        btnRefresh.setFont(lexendRegular);
+        btnRefresh.setBackground(ACCENT_COLOR);
+        btnRefresh.setForeground(Color.WHITE);
+        btnRefresh.addActionListener(e -> {
+            ReportCache.clear();
+            loadReport();
+        });
+        filterBar.add(btnRefresh);
+
         // Report type buttons
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
         buttonPanel.setBackground(BG_COLOR);
@@ -190,253 +245,311 @@ public class ReportPanel extends JPanel {
         return cbMonth.getSelectedIndex() + 1; // 1-12
     }
 
-    private void loadReport() {
-        int year = getSelectedYear(); // Changed from parseYear()
+    private ReportQueries.Period getSelectedPeriod() {
+        int year = getSelectedYear();
         int month = getSelectedMonth();
+        String range = (String) cbRange.getSelectedItem();
+
+        if (RANGE_QUARTER.equals(range)) {
+            return ReportQueries.Period.quarter(year, (month - 1) / 3 + 1);
+        } else if (RANGE_YTD.equals(range)) {
+            return ReportQueries.Period.yearToDate(year, LocalDate.now());
+        } else if (RANGE_WEEK.equals(range)) {
+            return ReportQueries.Period.week(LocalDate.now());
+        } else if (RANGE_CUSTOM.equals(range) && customPeriod != null) {
+            return customPeriod;
+        }
+        return ReportQueries.Period.month(year, month);
+    }
+
+    // Ask for a custom from/to range; false if the user cancelled
+    private boolean askCustomPeriod() {
+        LocalDate today = LocalDate.now();
+        JTextField tfFrom = new JTextField(customPeriod != null ? customPeriod.from.toString() : today.withDayOfMonth(1).toString(), 10);
+        JTextField tfTo = new JTextField(customPeriod != null ? customPeriod.to.minusDays(1).toString() : today.toString(), 10);
+
+        JPanel form = new JPanel(new GridLayout(0, 2, 10, 10));
+        form.add(new JLabel("From (yyyy-MM-dd):"));
+        form.add(tfFrom);
+        form.add(new JLabel("To (yyyy-MM-dd):"));
+        form.add(tfTo);
+
+        while (JOptionPane.showConfirmDialog(this, form, "Custom Report Range",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) == JOptionPane.OK_OPTION) {
+            try {
+                LocalDate from = LocalDate.parse(tfFrom.getText().trim());
+                LocalDate to = LocalDate.parse(tfTo.getText().trim());
+                if (to.isBefore(from)) {
+                    JOptionPane.showMessageDialog(this, "The end date must not be before the start date", "Validation Error", JOptionPane.WARNING_MESSAGE);
+                    continue;
+                }
+                customPeriod = ReportQueries.Period.custom(from, to);
+                return true;
+            } catch (DateTimeParseException ex) {
+                JOptionPane.showMessageDialog(this, "Please enter dates as yyyy-MM-dd", "Validation Error", JOptionPane.WARNING_MESSAGE);
+            }
+        }
+        return false;
+    }
+
+    private void loadReport() {
+        ReportQueries.Period period = getSelectedPeriod();
 
         switch (currentReportType) {
-            case 0 -> loadInventoryReport(year, month);
-            case 1 -> loadStockMovementReport(year, month);
-            case 2 -> loadSupplierDeliveryReport(year, month);
-            case 3 -> loadSalesReport(year, month);
+            case 0 -> loadInventoryReport(period);
+            case 1 -> loadStockMovementReport(period);
+            case 2 -> loadSupplierDeliveryReport(period);
+            case 3 -> loadSalesReport(period);
+        }
+    }
+
+    /**
+     * Render a report from ReportCache if it is there, otherwise load it on the
+     * DataLoader pool, cache the rows and render them.
+     */
+    private <T> void loadCached(ReportExporter.Report report, ReportQueries.Period period,
+                                DataLoader.Query<List<T>> query, Consumer<List<T>> render) {
+        ReportCache.Key key = new ReportCache.Key(report, period);
+        List<T> cached = ReportCache.get(key);
+        if (cached != null) {
+            DataLoader.cancel(cardsPanel);
+            render.accept(cached);
+            return;
+        }
+
+        DataLoader.showLoading(cardsPanel, lexendRegular);
+        ReportCache.Stamp stamp = ReportCache.stamp();
+        DataLoader.load(cardsPanel, () -> {
+            List<T> rows = query.run();
+            ReportCache.put(key, rows, stamp);
+            return rows;
+        }, render);
+    }
+
+    // ===== EXPORT =====
+    // Streams the selected report for the selected period to CSV / XLSX on the loader pool
+    private void exportReport() {
+        ReportExporter.Report report = ReportExporter.Report.values()[currentReportType];
+        ReportQueries.Period period = getSelectedPeriod();
+
+        JFileChooser chooser = new JFileChooser();
+        FileNameExtensionFilter xlsxFilter = new FileNameExtensionFilter("Excel workbook (*.xlsx)", "xlsx");
+        FileNameExtensionFilter csvFilter = new FileNameExtensionFilter("CSV file (*.csv)", "csv");
+        chooser.addChoosableFileFilter(xlsxFilter);
+        chooser.addChoosableFileFilter(csvFilter);
+        chooser.setFileFilter(xlsxFilter);
+        chooser.setSelectedFile(new File(String.format("%s Report %s to %s.xlsx", report.getTitle(), period.from, period.to.minusDays(1))));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
         }
+
+        File chosen = chooser.getSelectedFile();
+        String extension = chooser.getFileFilter() == csvFilter ? ".csv" : ".xlsx";
+        String name = chosen.getName().toLowerCase();
+        File file = name.endsWith(".csv") || name.endsWith(".xlsx") ? chosen : new File(chosen.getPath() + extension);
+
+        DataLoader.load(file, () -> {
+            try {
+                return ReportExporter.export(report, period, file);
+            } catch (IOException ex) {
+                throw new SQLException("Could not write " + file.getName() + ": " + ex.getMessage(), ex);
+            }
+        }, rows -> JOptionPane.showMessageDialog(this,
+                String.format("Exported %d rows to %s", rows, file.getName()),
+                "Export Complete", JOptionPane.INFORMATION_MESSAGE));
     }
 
     // ===== REPORT 1: INVENTORY REPORT =====
-    // Shows current stock levels per product and location as of the end of the selected month/year
-    private void loadInventoryReport(int year, int month) {
-        cardsPanel.removeAll();
-
-        // Add date range header
-        addDateRangeHeader("Inventory Report", year, month, "Stock levels as of end of month");
-
-        // Calculate stock up to and including the last day of the selected month
-        String sql = "SELECT p.product_name, l.location_name, " +
-                "COALESCE(SUM(CASE WHEN sm.movement_type = 'IN' THEN sm.quantity " +
-                "WHEN sm.movement_type = 'OUT' THEN -sm.quantity ELSE 0 END), 0) AS stock, " +
-                "p.reorder_level " +
-                "FROM Product p " +
-                "LEFT JOIN StorageLocation l ON p.location_id = l.location_id " +
-                "LEFT JOIN StockMovement sm ON p.product_id = sm.product_id " +
-                "AND sm.movement_date <= LAST_DAY(CONCAT(?, '-', LPAD(?, 2, '0'), '-01')) " +
-                "WHERE p.product_status = 'Active' " +
-                "GROUP BY p.product_id, l.location_id " +
-                "HAVING stock > 0 OR p.reorder_level > 0 " +
-                "ORDER BY p.product_name, l.location_name";
-
-        try (Connection conn = DBUtils.getConn();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setInt(1, year);
-            ps.setInt(2, month);
-
-            try (ResultSet rs = ps.executeQuery()) {
-                boolean hasData = false;
-                while (rs.next()) {
-                    hasData = true;
-                    BigDecimal stock = rs.getBigDecimal("stock");
-                    BigDecimal reorder = rs.getBigDecimal("reorder_level");
-                    if (stock == null) stock = BigDecimal.ZERO;
-                    if (reorder == null) reorder = BigDecimal.ZERO;
-
-                    InventoryReportCard card = new InventoryReportCard(
-                            rs.getString("product_name"),
-                            rs.getString("location_name") != null ? rs.getString("location_name") : "No Location",
-                            stock,
-                            reorder
-                    );
-                    cardsPanel.add(card);
-                    cardsPanel.add(Box.createRigidArea(new Dimension(0, 8)));
+    // Shows stock levels per product and location as of the end of the selected period
+    private void loadInventoryReport(ReportQueries.Period period) {
+        // Calculate stock up to and including the last day of the selected period
+        String sql = ReportQueries.INVENTORY;
+
+        loadCached(ReportExporter.Report.INVENTORY, period, () -> {
+            List<InventoryRow> rows = new ArrayList<>();
+            try (Connection conn = DBUtils.getConn();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                DataLoader.watch(ps);
+                ReportQueries.bind(ps, ReportQueries.inventoryParams(period));
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        BigDecimal stock = rs.getBigDecimal("stock");
+                        BigDecimal reorder = rs.getBigDecimal("reorder_level");
+                        if (stock == null) stock = BigDecimal.ZERO;
+                        if (reorder == null) reorder = BigDecimal.ZERO;
+
+                        rows.add(new InventoryRow(
+                                rs.getString("product_name"),
+                                rs.getString("location_name") != null ? rs.getString("location_name") : "No Location",
+                                stock,
+                                reorder
+                        ));
+                    }
                 }
+            }
+            return rows;
+        }, rows -> {
+            cardsPanel.removeAll();
 
-                if (!hasData) {
-                    showNoDataMessage();
-                }
+            // Add date range header
+            addDateRangeHeader("Inventory Report", period, "Stock levels as of end of period");
+
+            for (InventoryRow row : rows) {
+                cardsPanel.add(new InventoryReportCard(row.product, row.location, row.stock, row.reorder));
+                cardsPanel.add(Box.createRigidArea(new Dimension(0, 8)));
             }
 
-        } catch (SQLException ex) {
-            DBUtils.showErr(ex);
-        }
+            if (rows.isEmpty()) {
+                showNoDataMessage();
+            }
 
-        cardsPanel.revalidate();
-        cardsPanel.repaint();
+            cardsPanel.revalidate();
+            cardsPanel.repaint();
+        });
     }
 
     // ===== REPORT 2: STOCK MOVEMENT REPORT =====
-    // Shows the number of stock movements and total quantities moved per product for the selected month/year
-    private void loadStockMovementReport(int year, int month) {
-        cardsPanel.removeAll();
-
-        // Add date range header
-        addDateRangeHeader("Stock Movement Report", year, month, "Movements during the month");
-
-        String sql = "SELECT p.product_name, " +
-                "SUM(CASE WHEN sm.movement_type = 'IN' THEN 1 ELSE 0 END) AS in_count, " +
-                "SUM(CASE WHEN sm.movement_type = 'OUT' THEN 1 ELSE 0 END) AS out_count, " +
-                "COALESCE(SUM(CASE WHEN sm.movement_type = 'IN' THEN sm.quantity ELSE 0 END), 0) AS in_qty, " +
-                "COALESCE(SUM(CASE WHEN sm.movement_type = 'OUT' THEN sm.quantity ELSE 0 END), 0) AS out_qty " +
-                "FROM StockMovement sm " +
-                "JOIN Product p ON p.product_id = sm.product_id " +
-                "WHERE YEAR(sm.movement_date) = ? AND MONTH(sm.movement_date) = ? " +
-                "GROUP BY p.product_id " +
-                "HAVING in_count > 0 OR out_count > 0 " +
-                "ORDER BY p.product_name";
-
-        try (Connection conn = DBUtils.getConn();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setInt(1, year);
-            ps.setInt(2, month);
-
-            try (ResultSet rs = ps.executeQuery()) {
-                boolean hasData = false;
-                while (rs.next()) {
-                    hasData = true;
-                    StockMovementReportCard card = new StockMovementReportCard(
-                            rs.getString("product_name"),
-                            rs.getInt("in_count"),
-                            rs.getInt("out_count"),
-                            rs.getBigDecimal("in_qty"),
-                            rs.getBigDecimal("out_qty")
-                    );
-                    cardsPanel.add(card);
-                    cardsPanel.add(Box.createRigidArea(new Dimension(0, 8)));
+    // Shows the number of stock movements and total quantities moved per product for the selected period
+    private void loadStockMovementReport(ReportQueries.Period period) {
+        String sql = ReportQueries.STOCK_MOVEMENT;
+
+        loadCached(ReportExporter.Report.STOCK_MOVEMENT, period, () -> {
+            List<StockMovementRow> rows = new ArrayList<>();
+            try (Connection conn = DBUtils.getConn();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                DataLoader.watch(ps);
+                ReportQueries.bind(ps, ReportQueries.rangeParams(period));
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(new StockMovementRow(
+                                rs.getString("product_name"),
+                                rs.getInt("in_count"),
+                                rs.getInt("out_count"),
+                                rs.getBigDecimal("in_qty"),
+                                rs.getBigDecimal("out_qty")
+                        ));
+                    }
                 }
+            }
+            return rows;
+        }, rows -> {
+            cardsPanel.removeAll();
 
-                if (!hasData) {
-                    showNoDataMessage();
-                }
+            // Add date range header
+            addDateRangeHeader("Stock Movement Report", period, "Movements during the period");
+
+            for (StockMovementRow row : rows) {
+                cardsPanel.add(new StockMovementReportCard(row.product, row.inCount, row.outCount, row.inQty, row.outQty));
+                cardsPanel.add(Box.createRigidArea(new Dimension(0, 8)));
             }
 
-        } catch (SQLException ex) {
-            DBUtils.showErr(ex);
-        }
+            if (rows.isEmpty()) {
+                showNoDataMessage();
+            }
 
-        cardsPanel.revalidate();
-        cardsPanel.repaint();
+            cardsPanel.revalidate();
+            cardsPanel.repaint();
+        });
     }
 
     // ===== REPORT 3: SUPPLIER DELIVERY REPORT =====
-    // Shows the number of deliveries and total quantities received per supplier for the selected month/year
-    private void loadSupplierDeliveryReport(int year, int month) {
-        cardsPanel.removeAll();
-
-        // Add date range header
-        addDateRangeHeader("Supplier Delivery Report", year, month, "Deliveries received during the month");
-
-        String sql = "SELECT s.supplier_name, " +
-                "COUNT(*) AS delivery_count, " +
-                "COALESCE(SUM(sm.quantity), 0) AS total_qty " +
-                "FROM StockMovement sm " +
-                "JOIN Supplier s ON s.supplier_id = sm.supplier_id " +
-                "WHERE sm.movement_type = 'IN' " +
-                "AND sm.supplier_id IS NOT NULL " +
-                "AND YEAR(sm.movement_date) = ? " +
-                "AND MONTH(sm.movement_date) = ? " +
-                "GROUP BY s.supplier_id " +
-                "HAVING delivery_count > 0 " +
-                "ORDER BY s.supplier_name";
-
-        try (Connection conn = DBUtils.getConn();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setInt(1, year);
-            ps.setInt(2, month);
-
-            try (ResultSet rs = ps.executeQuery()) {
-                boolean hasData = false;
-                while (rs.next()) {
-                    hasData = true;
-                    SupplierDeliveryReportCard card = new SupplierDeliveryReportCard(
-                            rs.getString("supplier_name"),
-                            rs.getInt("delivery_count"),
-                            rs.getBigDecimal("total_qty")
-                    );
-                    cardsPanel.add(card);
-                    cardsPanel.add(Box.createRigidArea(new Dimension(0, 8)));
+    // Shows the number of deliveries and total quantities received per supplier for the selected period
+    private void loadSupplierDeliveryReport(ReportQueries.Period period) {
+        String sql = ReportQueries.SUPPLIER_DELIVERY;
+
+        loadCached(ReportExporter.Report.SUPPLIER_DELIVERY, period, () -> {
+            List<SupplierDeliveryRow> rows = new ArrayList<>();
+            try (Connection conn = DBUtils.getConn();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                DataLoader.watch(ps);
+                ReportQueries.bind(ps, ReportQueries.rangeParams(period));
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(new SupplierDeliveryRow(
+                                rs.getString("supplier_name"),
+                                rs.getInt("delivery_count"),
+                                rs.getBigDecimal("total_qty")
+                        ));
+                    }
                 }
+            }
+            return rows;
+        }, rows -> {
+            cardsPanel.removeAll();
 
-                if (!hasData) {
-                    showNoDataMessage();
-                }
+            // Add date range header
+            addDateRangeHeader("Supplier Delivery Report", period, "Deliveries received during the period");
+
+            for (SupplierDeliveryRow row : rows) {
+                cardsPanel.add(new SupplierDeliveryReportCard(row.supplier, row.deliveryCount, row.totalQty));
+                cardsPanel.add(Box.createRigidArea(new Dimension(0, 8)));
             }
 
-        } catch (SQLException ex) {
-            DBUtils.showErr(ex);
-        }
+            if (rows.isEmpty()) {
+                showNoDataMessage();
+            }
 
-        cardsPanel.revalidate();
-        cardsPanel.repaint();
+            cardsPanel.revalidate();
+            cardsPanel.repaint();
+        });
     }
 
     // ===== REPORT 4: SALES REPORT =====
-    // Shows average daily sales per product for the selected month/year
-    private void loadSalesReport(int year, int month) {
-        cardsPanel.removeAll();
-
-        // Add date range header
-        addDateRangeHeader("Sales Report", year, month, "Average daily sales for the month");
-
-        String sql = "SELECT p.product_name, " +
-                "COALESCE(SUM(sm.quantity), 0) AS total_sold, " +
-                "COUNT(DISTINCT sm.movement_date) AS days_with_sales, " +
-                "DAY(LAST_DAY(CONCAT(?, '-', LPAD(?, 2, '0'), '-01'))) AS days_in_month " +
-                "FROM Product p " +
-                "LEFT JOIN StockMovement sm ON p.product_id = sm.product_id " +
-                "AND sm.movement_type = 'OUT' " +
-                "AND YEAR(sm.movement_date) = ? " +
-                "AND MONTH(sm.movement_date) = ? " +
-                "WHERE p.product_status = 'Active' " +
-                "GROUP BY p.product_id " +
-                "HAVING total_sold > 0 " +
-                "ORDER BY p.product_name";
-
-        try (Connection conn = DBUtils.getConn();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            // Set parameters for days_in_month calculation
-            ps.setInt(1, year);
-            ps.setInt(2, month);
-            // Set parameters for WHERE clause
-            ps.setInt(3, year);
-            ps.setInt(4, month);
-
-            try (ResultSet rs = ps.executeQuery()) {
-                boolean hasData = false;
-                while (rs.next()) {
-                    hasData = true;
-                    BigDecimal totalSold = rs.getBigDecimal("total_sold");
-                    int daysWithSales = rs.getInt("days_with_sales");
-                    int daysInMonth = rs.getInt("days_in_month");
-                    if (totalSold == null) totalSold = BigDecimal.ZERO;
-
-                    // Calculate average daily sales across all days in the month
-                    BigDecimal avgDaily = BigDecimal.ZERO;
-                    if (daysInMonth > 0 && totalSold.compareTo(BigDecimal.ZERO) > 0) {
-                        avgDaily = totalSold.divide(BigDecimal.valueOf(daysInMonth), 2, BigDecimal.ROUND_HALF_UP);
+    // Shows average daily sales per product for the selected period
+    private void loadSalesReport(ReportQueries.Period period) {
+        String sql = ReportQueries.SALES;
+
+        loadCached(ReportExporter.Report.SALES, period, () -> {
+            List<SalesRow> rows = new ArrayList<>();
+            try (Connection conn = DBUtils.getConn();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                DataLoader.watch(ps);
+                ReportQueries.bind(ps, ReportQueries.rangeParams(period));
+                int daysInPeriod = period.days();
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        BigDecimal totalSold = rs.getBigDecimal("total_sold");
+                        int daysWithSales = rs.getInt("days_with_sales");
+                        if (totalSold == null) totalSold = BigDecimal.ZERO;
+
+                        // Calculate average daily sales across all days in the period
+                        BigDecimal avgDaily = BigDecimal.ZERO;
+                        if (daysInPeriod > 0 && totalSold.compareTo(BigDecimal.ZERO) > 0) {
+                            avgDaily = totalSold.divide(BigDecimal.valueOf(daysInPeriod), 2, RoundingMode.HALF_UP);
+                        }
+
+                        rows.add(new SalesRow(
+                                rs.getString("product_name"),
+                                totalSold,
+                                daysWithSales,
+                                avgDaily
+                        ));
                     }
-
-                    SalesReportCard card = new SalesReportCard(
-                            rs.getString("product_name"),
-                            totalSold,
-                            daysWithSales,
-                            avgDaily
-                    );
-                    cardsPanel.add(card);
-                    cardsPanel.add(Box.createRigidArea(new Dimension(0, 8)));
                 }
+            }
+            return rows;
+        }, rows -> {
+            cardsPanel.removeAll();
 
-                if (!hasData) {
-                    showNoDataMessage();
-                }
+            // Add date range header
+            addDateRangeHeader("Sales Report", period, "Average daily sales for the period");
+
+            for (SalesRow row : rows) {
+                cardsPanel.add(new SalesReportCard(row.product, row.totalSold, row.daysWithSales, row.avgDaily));
+                cardsPanel.add(Box.createRigidArea(new Dimension(0, 8)));
             }
 
-        } catch (SQLException ex) {
-            DBUtils.showErr(ex);
-        }
+            if (rows.isEmpty()) {
+                showNoDataMessage();
+            }
 
-        cardsPanel.revalidate();
-        cardsPanel.repaint();
+            cardsPanel.revalidate();
+            cardsPanel.repaint();
+        });
     }
 
     private void showNoDataMessage() {
@@ -449,7 +562,7 @@ public class ReportPanel extends JPanel {
         cardsPanel.add(Box.createVerticalGlue());
     }
 
-    private void addDateRangeHeader(String reportTitle, int year, int month, String description) {
+    private void addDateRangeHeader(String reportTitle, ReportQueries.Period period, String description) {
         JPanel headerPanel = new JPanel(new BorderLayout(10, 5));
         headerPanel.setBackground(CARD_BG);
         headerPanel.setBorder(new EmptyBorder(15, 20, 15, 20));
@@ -459,11 +572,7 @@ public class ReportPanel extends JPanel {
         lblTitle.setFont(lexendBold.deriveFont(16f));
         lblTitle.setForeground(ACCENT_COLOR);
 
-        String[] monthNames = {"January", "February", "March", "April", "May", "June",
-                "July", "August", "September", "October", "November", "December"};
-        String monthName = monthNames[month - 1];
-
-        JLabel lblPeriod = new JLabel("Period: " + monthName + " " + year);
+        JLabel lblPeriod = new JLabel("Period: " + period.label);
         lblPeriod.setFont(lexendBold.deriveFont(13f));
         lblPeriod.setForeground(new Color(0x333333));
 
@@ -689,6 +798,63 @@ public class ReportPanel extends JPanel {
         btn.setBorderPainted(false);
     }
 
+    // ===== REPORT ROWS (loaded off the EDT, rendered into cards on it) =====
+    private static class InventoryRow {
+        String product;
+        String location;
+        BigDecimal stock;
+        BigDecimal reorder;
+
+        InventoryRow(String product, String location, BigDecimal stock, BigDecimal reorder) {
+            this.product = product;
+            this.location = location;
+            this.stock = stock;
+            this.reorder = reorder;
+        }
+    }
+
+    private static class StockMovementRow {
+        String product;
+        int inCount;
+        int outCount;
+        BigDecimal inQty;
+        BigDecimal outQty;
+
+        StockMovementRow(String product, int inCount, int outCount, BigDecimal inQty, BigDecimal outQty) {
+            this.product = product;
+            this.inCount = inCount;
+            this.outCount = outCount;
+            this.inQty = inQty;
+            this.outQty = outQty;
+        }
+    }
+
+    private static class SupplierDeliveryRow {
+        String supplier;
+        int deliveryCount;
+        BigDecimal totalQty;
+
+        SupplierDeliveryRow(String supplier, int deliveryCount, BigDecimal totalQty) {
+            this.supplier = supplier;
+            this.deliveryCount = deliveryCount;
+            this.totalQty = totalQty;
+        }
+    }
+
+    private static class SalesRow {
+        String product;
+        BigDecimal totalSold;
+        int daysWithSales;
+        BigDecimal avgDaily;
+
+        SalesRow(String product, BigDecimal totalSold, int daysWithSales, BigDecimal avgDaily) {
+            this.product = product;
+            this.totalSold = totalSold;
+            this.daysWithSales = daysWithSales;
+            this.avgDaily = avgDaily;
+        }
+    }
+
     // ===== CUSTOM COMPONENTS =====
     public static class RoundedButton extends JButton {
         private final int radius;
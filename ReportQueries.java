@@ -0,0 +1,257 @@
+import java.sql.*;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL behind the four ReportPanel reports.
+ *
+ * Reports read the StockMovementMonthly rollup (kept up to date by
+ * StockLedger.recordMovement) instead of re-aggregating raw StockMovement
+ * rows. A report period is split into the whole months it covers, answered
+ * from the rollup, and the partial months at either end, answered from the
+ * ledger through the (movement_date, ...) indexes. A twelve-month report reads
+ * twelve rollup rows per product plus nothing from the ledger, so report cost
+ * grows with months of history rather than with movements.
+ *
+ * Run "java ReportQueries [year month]" against a loaded database to EXPLAIN
+ * each report and fail if the rollup table or the ledger is read with a full
+ * table scan. On a nearly empty table the optimizer may still prefer a scan,
+ * so check against realistic data volumes.
+ */
+public class ReportQueries {
+
+    // Stock per product up to the end of the period:
+    // rollup months before the period end's month, plus ledger rows from that month.
+    // Params: inventoryParams(period)
+    public static final String INVENTORY =
+            "SELECT * FROM (" +
+            "SELECT p.product_name, l.location_name, " +
+            "COALESCE((SELECT SUM(r.in_qty - r.out_qty) FROM StockMovementMonthly r " +
+            "    WHERE r.product_id = p.product_id AND r.period_start < ?), 0) + " +
+            "COALESCE((SELECT SUM(CASE WHEN sm.movement_type = 'IN' THEN sm.quantity ELSE -sm.quantity END) " +
+            "    FROM StockMovement sm WHERE sm.product_id = p.product_id " +
+            "    AND sm.movement_date >= ? AND sm.movement_date < ?), 0) AS stock, " +
+            "p.reorder_level " +
+            "FROM Product p " +
+            "LEFT JOIN StorageLocation l ON p.location_id = l.location_id " +
+            "WHERE p.product_status = 'Active') inv " +
+            "WHERE inv.stock > 0 OR inv.reorder_level > 0 " +
+            "ORDER BY inv.product_name, inv.location_name";
+
+    // Whole months from the rollup, partial months at either end from the ledger
+    private static final String ROLLUP_MONTHS = "r.period_start >= ? AND r.period_start < ?";
+    private static final String LEDGER_EDGES =
+            "((sm.movement_date >= ? AND sm.movement_date < ?) OR (sm.movement_date >= ? AND sm.movement_date < ?))";
+
+    // Movement counts and quantities per product. Params: rangeParams(period)
+    public static final String STOCK_MOVEMENT =
+            "SELECT p.product_name, " +
+            "SUM(x.in_count) AS in_count, " +
+            "SUM(x.out_count) AS out_count, " +
+            "SUM(x.in_qty) AS in_qty, " +
+            "SUM(x.out_qty) AS out_qty " +
+            "FROM (SELECT r.product_id, r.in_count, r.out_count, r.in_qty, r.out_qty " +
+            "      FROM StockMovementMonthly r WHERE " + ROLLUP_MONTHS + " " +
+            "      UNION ALL " +
+            "      SELECT sm.product_id, " +
+            "      CASE WHEN sm.movement_type = 'IN' THEN 1 ELSE 0 END, " +
+            "      CASE WHEN sm.movement_type = 'OUT' THEN 1 ELSE 0 END, " +
+            "      CASE WHEN sm.movement_type = 'IN' THEN sm.quantity ELSE 0 END, " +
+            "      CASE WHEN sm.movement_type = 'OUT' THEN sm.quantity ELSE 0 END " +
+            "      FROM StockMovement sm WHERE " + LEDGER_EDGES + ") x " +
+            "JOIN Product p ON p.product_id = x.product_id " +
+            "GROUP BY p.product_id " +
+            "HAVING in_count > 0 OR out_count > 0 " +
+            "ORDER BY p.product_name";
+
+    // Deliveries received per supplier. Params: rangeParams(period)
+    public static final String SUPPLIER_DELIVERY =
+            "SELECT s.supplier_name, " +
+            "SUM(x.deliveries) AS delivery_count, " +
+            "SUM(x.qty) AS total_qty " +
+            "FROM (SELECT r.supplier_id, r.in_count AS deliveries, r.in_qty AS qty " +
+            "      FROM StockMovementMonthly r WHERE " + ROLLUP_MONTHS + " " +
+            "      UNION ALL " +
+            "      SELECT sm.supplier_id, 1, sm.quantity " +
+            "      FROM StockMovement sm WHERE sm.movement_type = 'IN' AND sm.supplier_id IS NOT NULL " +
+            "      AND " + LEDGER_EDGES + ") x " +
+            "JOIN Supplier s ON s.supplier_id = x.supplier_id " +
+            "GROUP BY s.supplier_id " +
+            "HAVING delivery_count > 0 " +
+            "ORDER BY s.supplier_name";
+
+    // Quantity sold and selling days per product. Months and edges never share a day,
+    // so their selling-day counts add up. Params: rangeParams(period)
+    public static final String SALES =
+            "SELECT p.product_name, " +
+            "COALESCE(SUM(x.out_qty), 0) AS total_sold, " +
+            "COALESCE(SUM(x.sale_days), 0) AS days_with_sales " +
+            "FROM Product p " +
+            "JOIN (SELECT r.product_id, r.out_qty, r.sale_days " +
+            "      FROM StockMovementMonthly r WHERE " + ROLLUP_MONTHS + " " +
+            "      UNION ALL " +
+            "      SELECT sm.product_id, SUM(sm.quantity), COUNT(DISTINCT sm.movement_date) " +
+            "      FROM StockMovement sm WHERE sm.movement_type = 'OUT' AND " + LEDGER_EDGES + " " +
+            "      GROUP BY sm.product_id) x ON x.product_id = p.product_id " +
+            "WHERE p.product_status = 'Active' " +
+            "GROUP BY p.product_id " +
+            "HAVING total_sold > 0 " +
+            "ORDER BY p.product_name";
+
+    /**
+     * A report period [from, to): to is exclusive, as in the rest of the report SQL.
+     * The whole months inside it are [rollupFrom, rollupTo); if it holds no whole
+     * month, rollupFrom == rollupTo == to and the ledger covers all of it.
+     */
+    public static class Period {
+        private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("MMM d, yyyy");
+        private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("MMMM yyyy");
+
+        public final LocalDate from;
+        public final LocalDate to;
+        public final String label;
+        final LocalDate rollupFrom;
+        final LocalDate rollupTo;
+
+        private Period(LocalDate from, LocalDate to, String label) {
+            if (!to.isAfter(from)) {
+                throw new IllegalArgumentException("Empty report period " + from + " - " + to);
+            }
+            this.from = from;
+            this.to = to;
+            this.label = label;
+
+            LocalDate firstWhole = from.getDayOfMonth() == 1 ? from : from.withDayOfMonth(1).plusMonths(1);
+            LocalDate afterLastWhole = to.withDayOfMonth(1);
+            if (firstWhole.isBefore(afterLastWhole)) {
+                rollupFrom = firstWhole;
+                rollupTo = afterLastWhole;
+            } else {
+                rollupFrom = to;
+                rollupTo = to;
+            }
+        }
+
+        public static Period month(int year, int month) {
+            LocalDate start = LocalDate.of(year, month, 1);
+            return new Period(start, start.plusMonths(1), start.format(MONTH));
+        }
+
+        /** Monday to Sunday around the given day */
+        public static Period week(LocalDate day) {
+            LocalDate monday = day.minusDays(day.getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue());
+            return new Period(monday, monday.plusDays(7),
+                    "Week of " + monday.format(DAY));
+        }
+
+        public static Period quarter(int year, int quarter) {
+            LocalDate start = LocalDate.of(year, (quarter - 1) * 3 + 1, 1);
+            return new Period(start, start.plusMonths(3), "Q" + quarter + " " + year);
+        }
+
+        /** January 1st through today, or the whole year for past years */
+        public static Period yearToDate(int year, LocalDate today) {
+            LocalDate start = LocalDate.of(year, 1, 1);
+            LocalDate end = year < today.getYear() ? start.plusYears(1) : today.plusDays(1);
+            return new Period(start, end, year < today.getYear() ? "Year " + year : year + " to date");
+        }
+
+        /** Both days inclusive, as picked by the user */
+        public static Period custom(LocalDate first, LocalDate last) {
+            return new Period(first, last.plusDays(1), first.format(DAY) + " - " + last.format(DAY));
+        }
+
+        public int days() {
+            return (int) ChronoUnit.DAYS.between(from, to);
+        }
+    }
+
+    /** Parameters for INVENTORY: stock as of the end of the period */
+    public static Object[] inventoryParams(Period period) {
+        LocalDate monthStart = period.to.withDayOfMonth(1);
+        return new Object[]{Date.valueOf(monthStart), Date.valueOf(monthStart), Date.valueOf(period.to)};
+    }
+
+    /** Parameters for STOCK_MOVEMENT, SUPPLIER_DELIVERY and SALES */
+    public static Object[] rangeParams(Period period) {
+        return new Object[]{
+                Date.valueOf(period.rollupFrom), Date.valueOf(period.rollupTo),
+                Date.valueOf(period.from), Date.valueOf(period.rollupFrom),
+                Date.valueOf(period.rollupTo), Date.valueOf(period.to)};
+    }
+
+    public static void bind(PreparedStatement ps, Object[] params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            ps.setObject(i + 1, params[i]);
+        }
+    }
+
+    /**
+     * EXPLAIN a report query and list problems with how StockMovementMonthly (alias r)
+     * and StockMovement (alias sm) are accessed
+     */
+    public static List<String> checkPlan(Connection conn, String sql, Object... params) throws SQLException {
+        List<String> problems = new ArrayList<>();
+        boolean sawRollupTable = false;
+
+        try (PreparedStatement ps = conn.prepareStatement("EXPLAIN " + sql)) {
+            bind(ps, params);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String table = rs.getString("table");
+                    if (!"r".equals(table) && !"sm".equals(table)) continue;
+                    sawRollupTable |= "r".equals(table);
+
+                    String type = rs.getString("type");
+                    String key = rs.getString("key");
+                    if (key == null || "ALL".equals(type) || "index".equals(type)) {
+                        String name = "r".equals(table) ? "StockMovementMonthly" : "StockMovement";
+                        problems.add(name + " access type " + type + ", key " + key);
+                    }
+                }
+            }
+        }
+
+        if (!sawRollupTable) {
+            problems.add("StockMovementMonthly (r) not found in plan");
+        }
+        return problems;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        LocalDate today = LocalDate.now();
+        int year = args.length >= 2 ? Integer.parseInt(args[0]) : today.getYear();
+        int month = args.length >= 2 ? Integer.parseInt(args[1]) : today.getMonthValue();
+
+        // A period with partial months at both ends exercises the rollup and the ledger part
+        Period month1 = Period.month(year, month);
+        Period spanning = Period.custom(month1.from.minusDays(10), month1.to.plusDays(9));
+
+        Map<String, List<String>> results = new LinkedHashMap<>();
+        try (Connection conn = DBUtils.getConn()) {
+            results.put("Inventory", checkPlan(conn, INVENTORY, inventoryParams(spanning)));
+            results.put("Stock Movement", checkPlan(conn, STOCK_MOVEMENT, rangeParams(spanning)));
+            results.put("Supplier Delivery", checkPlan(conn, SUPPLIER_DELIVERY, rangeParams(spanning)));
+            results.put("Sales", checkPlan(conn, SALES, rangeParams(spanning)));
+        }
+
+        boolean ok = true;
+        for (Map.Entry<String, List<String>> result : results.entrySet()) {
+            if (result.getValue().isEmpty()) {
+                System.out.println("OK    " + result.getKey());
+            } else {
+                ok = false;
+                System.out.println("FAIL  " + result.getKey() + ": " + String.join("; ", result.getValue()));
+            }
+        }
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+}
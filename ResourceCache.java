@@ -0,0 +1,92 @@
+import javax.swing.ImageIcon;
+import java.awt.Font;
+import java.awt.Image;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of fonts and scaled icons loaded from the classpath.
+ *
+ * A TTF is parsed once; each derived size is kept too, so every panel asking
+ * for Lexend 12pt gets the same Font. Icons are cached per path and size,
+ * already scaled. warmUp() loads the fonts and sidebar icons the main window
+ * needs on the common pool in parallel, so the first frame does not wait on
+ * resource parsing. Fonts and icons are immutable, so sharing them is safe.
+ */
+public class ResourceCache {
+
+    public static final String LEXEND_REGULAR = "/resources/fonts/lexend-regular.ttf";
+    public static final String LEXEND_BOLD = "/resources/fonts/lexend-bold.ttf";
+
+    // Sizes used across the panels and the sidebar / title bar icons
+    private static final float[] FONT_SIZES = {12f, 14f};
+    private static final String[] SIDEBAR_ICONS = {
+            "products", "suppliers", "locations", "movements", "reports"};
+    static final int SIDEBAR_ICON_SIZE = 35;
+    static final String APP_ICON = "/resources/icons/cloudkitchenapp.png";
+    static final int APP_ICON_SIZE = 24;
+
+    private static final Map<String, Font> BASE_FONTS = new ConcurrentHashMap<>();
+    private static final Map<String, Font> FONTS = new ConcurrentHashMap<>();
+    private static final Map<String, ImageIcon> ICONS = new ConcurrentHashMap<>();
+
+    /** The font at path in the given size; a plain fallback font if it cannot be loaded */
+    public static Font font(String path, float size) {
+        return FONTS.computeIfAbsent(path + "@" + size, k -> baseFont(path).deriveFont(size));
+    }
+
+    private static Font baseFont(String path) {
+        return BASE_FONTS.computeIfAbsent(path, k -> {
+            try (InputStream is = ResourceCache.class.getResourceAsStream(path)) {
+                return Font.createFont(Font.TRUETYPE_FONT, is);
+            } catch (Exception e) {
+                System.err.println("Failed to load font: " + path);
+                e.printStackTrace();
+                return new Font("Segoe UI", Font.PLAIN, 12); // fallback
+            }
+        });
+    }
+
+    /** The classpath image at path scaled to width x height */
+    public static ImageIcon icon(String path, int width, int height) {
+        return ICONS.computeIfAbsent(path + "@" + width + "x" + height, k -> {
+            URL url = ResourceCache.class.getResource(path);
+            if (url == null) {
+                throw new IllegalArgumentException("Icon not found: " + path);
+            }
+            return new ImageIcon(new ImageIcon(url).getImage().getScaledInstance(width, height, Image.SCALE_SMOOTH));
+        });
+    }
+
+    /** Path of a sidebar icon, e.g. sidebarIcon("products", true) */
+    static String sidebarIcon(String name, boolean active) {
+        return "/resources/icons/" + name + (active ? "_active" : "") + ".png";
+    }
+
+    /** Load the main window's fonts and icons in parallel; the future completes when all are cached */
+    public static CompletableFuture<Void> warmUp() {
+        List<CompletableFuture<?>> loads = new ArrayList<>();
+        for (String path : new String[]{LEXEND_REGULAR, LEXEND_BOLD}) {
+            loads.add(CompletableFuture.runAsync(() -> {
+                for (float size : FONT_SIZES) {
+                    font(path, size);
+                }
+            }));
+        }
+        for (String name : SIDEBAR_ICONS) {
+            for (boolean active : new boolean[]{false, true}) {
+                String path = sidebarIcon(name, active);
+                loads.add(CompletableFuture.runAsync(() -> icon(path, SIDEBAR_ICON_SIZE, SIDEBAR_ICON_SIZE)));
+            }
+        }
+        loads.add(CompletableFuture.runAsync(() -> icon(APP_ICON, APP_ICON_SIZE, APP_ICON_SIZE)));
+
+        // A missing resource is reported when the window asks for it, not here
+        return CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0])).exceptionally(ex -> null);
+    }
+}
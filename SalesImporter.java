@@ -0,0 +1,326 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk import of POS sales exports into the stock ledger.
+ *
+ * The file is a CSV with a header row naming the columns product, location,
+ * qty (or quantity), amount and date (yyyy-MM-dd), in UTF-8; product and
+ * location may be given by name or id. A name shared by several products or
+ * locations is ambiguous and must be given by id, and only Active products
+ * can be sold. Rows are validated against product / location maps
+ * loaded once per import, then written in chunks: each chunk is one
+ * transaction that locks the chunk's products, drops rows the remaining stock
+ * cannot cover, and records the rest with StockLedger.recordSales.
+ * Every rejected row ends up in the error report with its line number.
+ */
+public class SalesImporter {
+
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    /** Called after every chunk with the number of data rows processed so far */
+    public interface Progress {
+        void update(int processed, int total);
+    }
+
+    public static class RowError {
+        public final int line;
+        public final String message;
+
+        RowError(int line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+    }
+
+    public static class Result {
+        public int imported = 0;
+        public final List<RowError> errors = new ArrayList<>();
+        public final List<StockLedger.Sale> sales = new ArrayList<>();   // the rows written, for ChangeBus
+
+        /** Write the rejected rows as "line,error" CSV */
+        public void writeErrorReport(File file) throws IOException {
+            try (PrintWriter out = new PrintWriter(file, "UTF-8")) {
+                out.println("line,error");
+                for (RowError error : errors) {
+                    out.println(error.line + "," + quote(error.message));
+                }
+            }
+        }
+    }
+
+    // A validated row waiting for its chunk to be written
+    private static class Row {
+        final int line;
+        final String productName;
+        final StockLedger.Sale sale;
+
+        Row(int line, String productName, StockLedger.Sale sale) {
+            this.line = line;
+            this.productName = productName;
+            this.sale = sale;
+        }
+    }
+
+    private final int chunkSize;
+    private final Map<String, Integer> productIds = new HashMap<>();
+    private final Map<Integer, Catalog.Product> products = new HashMap<>();
+    private final Map<String, Integer> locationIds = new HashMap<>();
+    // Lower-cased names used by more than one row; such rows must give the id
+    private final Set<String> ambiguousProducts = new HashSet<>();
+    private final Set<String> ambiguousLocations = new HashSet<>();
+
+    public SalesImporter() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public SalesImporter(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Result importFile(File file, Progress progress) throws IOException, SQLException {
+        loadLookups();
+        int total = countDataRows(file);
+        Result result = new Result();
+
+        try (BufferedReader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String header = in.readLine();
+            if (header == null) {
+                throw new IOException("The file is empty");
+            }
+            // Spreadsheet exports often start with a byte order mark
+            if (header.startsWith("\uFEFF")) {
+                header = header.substring(1);
+            }
+            Map<String, Integer> columns = readHeader(header);
+
+            List<Row> chunk = new ArrayList<>();
+            int lineNo = 1;
+            int processed = 0;
+            String line;
+            while ((line = in.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) continue;
+                processed++;
+
+                Row row = parseRow(lineNo, splitCsv(line), columns, result);
+                if (row != null) {
+                    chunk.add(row);
+                }
+                if (chunk.size() >= chunkSize) {
+                    writeChunk(chunk, result);
+                    chunk.clear();
+                    progress.update(processed, total);
+                }
+            }
+            writeChunk(chunk, result);
+            progress.update(processed, total);
+        }
+        result.errors.sort((a, b) -> Integer.compare(a.line, b.line));
+        return result;
+    }
+
+    // ===== VALIDATION =====
+    // Names to ids from the shared catalog rather than a query per import
+    private void loadLookups() throws SQLException {
+        productIds.clear();
+        products.clear();
+        locationIds.clear();
+        ambiguousProducts.clear();
+        ambiguousLocations.clear();
+        Catalog.Snapshot catalog = Catalog.get();
+        for (Catalog.Product product : catalog.products()) {
+            putName(productIds, ambiguousProducts, product.name, product.id);
+            products.put(product.id, product);
+        }
+        for (Catalog.Location location : catalog.locations()) {
+            putName(locationIds, ambiguousLocations, location.name, location.id);
+        }
+        // Ids last, so an id always wins over a name that looks like one
+        for (Catalog.Product product : catalog.products()) {
+            productIds.put(String.valueOf(product.id), product.id);
+        }
+        for (Catalog.Location location : catalog.locations()) {
+            locationIds.put(String.valueOf(location.id), location.id);
+        }
+    }
+
+    // Names are not unique in the schema; a repeated one maps to no id and is remembered as ambiguous
+    private static void putName(Map<String, Integer> ids, Set<String> ambiguous, String name, int id) {
+        if (name == null) return;
+        String key = name.trim().toLowerCase(Locale.ROOT);
+        if (ambiguous.contains(key)) return;
+        if (ids.containsKey(key)) {
+            ids.remove(key);
+            ambiguous.add(key);
+        } else {
+            ids.put(key, id);
+        }
+    }
+
+    private static Map<String, Integer> readHeader(String header) throws IOException {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsv(header);
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).trim().toLowerCase(Locale.ROOT);
+            columns.put(name.equals("quantity") ? "qty" : name, i);
+        }
+        for (String required : new String[]{"product", "location", "qty", "amount", "date"}) {
+            if (!columns.containsKey(required)) {
+                throw new IOException("Missing column \"" + required + "\" in header");
+            }
+        }
+        return columns;
+    }
+
+    private Row parseRow(int lineNo, List<String> fields, Map<String, Integer> columns, Result result) {
+        String product = field(fields, columns.get("product"));
+        String location = field(fields, columns.get("location"));
+
+        // Ids are looked up as text, so an overlong number is just an unknown product
+        Integer productId = productIds.get(product.toLowerCase(Locale.ROOT));
+        if (productId == null) {
+            return reject(result, lineNo, ambiguousProducts.contains(product.toLowerCase(Locale.ROOT))
+                    ? "Ambiguous product \"" + product + "\": several products have this name, use the id"
+                    : "Unknown product \"" + product + "\"");
+        }
+        Catalog.Product catalogProduct = products.get(productId);
+        if (!"Active".equals(catalogProduct.status)) {
+            return reject(result, lineNo, "Product \"" + catalogProduct.name + "\" is not Active");
+        }
+        Integer locationId = locationIds.get(location.toLowerCase(Locale.ROOT));
+        if (locationId == null) {
+            return reject(result, lineNo, ambiguousLocations.contains(location.toLowerCase(Locale.ROOT))
+                    ? "Ambiguous location \"" + location + "\": several locations have this name, use the id"
+                    : "Unknown location \"" + location + "\"");
+        }
+
+        BigDecimal qty;
+        BigDecimal amount;
+        try {
+            qty = new BigDecimal(field(fields, columns.get("qty")));
+            amount = new BigDecimal(field(fields, columns.get("amount")));
+        } catch (NumberFormatException ex) {
+            return reject(result, lineNo, "Invalid quantity or amount");
+        }
+        if (qty.signum() <= 0 || amount.signum() <= 0) {
+            return reject(result, lineNo, "Quantity and amount must be positive");
+        }
+
+        Date date;
+        try {
+            date = Date.valueOf(LocalDate.parse(field(fields, columns.get("date"))));
+        } catch (DateTimeParseException ex) {
+            return reject(result, lineNo, "Invalid date (expected yyyy-MM-dd)");
+        }
+
+        return new Row(lineNo, catalogProduct.name, new StockLedger.Sale(productId, locationId, qty, amount, date));
+    }
+
+    private static Row reject(Result result, int lineNo, String message) {
+        result.errors.add(new RowError(lineNo, message));
+        return null;
+    }
+
+    // ===== WRITING =====
+    private void writeChunk(List<Row> chunk, Result result) {
+        if (chunk.isEmpty()) return;
+
+        try {
+            // Rebuilt on every attempt, since inTransaction may run the body again after a deadlock
+            List<RowError> stockErrors = new ArrayList<>();
+            List<StockLedger.Sale> written = StockLedger.inTransaction(conn -> {
+                stockErrors.clear();
+                Map<Integer, BigDecimal> available = StockLedger.lockStock(conn,
+                        chunk.stream().map(r -> r.sale.productId).toList());
+
+                List<StockLedger.Sale> accepted = new ArrayList<>();
+                for (Row row : chunk) {
+                    BigDecimal onHand = available.get(row.sale.productId);
+                    if (onHand.compareTo(row.sale.qty) < 0) {
+                        stockErrors.add(new RowError(row.line, String.format(
+                                "Insufficient stock for %s: available %.2f, requested %.2f", row.productName, onHand, row.sale.qty)));
+                        continue;
+                    }
+                    available.put(row.sale.productId, onHand.subtract(row.sale.qty));
+                    accepted.add(row.sale);
+                }
+                StockLedger.recordSales(conn, accepted);
+                return accepted;
+            });
+            result.imported += written.size();
+            result.sales.addAll(written);
+            result.errors.addAll(stockErrors);
+            ReportCache.invalidate(written.stream().map(s -> s.date.toLocalDate()).distinct().toList());
+        } catch (SQLException ex) {
+            for (Row row : chunk) {
+                result.errors.add(new RowError(row.line, "Not imported: " + ex.getMessage()));
+            }
+        }
+    }
+
+    // ===== CSV =====
+    private static int countDataRows(File file) throws IOException {
+        int rows = 0;
+        try (BufferedReader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            in.readLine();
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.isBlank()) rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index).trim() : "";
+    }
+
+    // Split one CSV line, honouring double quotes and "" escapes
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,52 @@
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.JTextComponent;
+import java.util.function.Consumer;
+
+/**
+ * Waits until the user stops typing in a search box before running the search.
+ *
+ * Every edit restarts a single-shot Swing timer; when it fires, the trimmed
+ * text is handed to the callback on the EDT, once per settled query. The delay
+ * defaults to 250 ms and can be changed with -Dcloudkitchen.search.debounceMs=...
+ */
+public class SearchDebouncer {
+
+    public static final int DELAY_MS = Integer.getInteger("cloudkitchen.search.debounceMs", 250);
+
+    private final JTextComponent field;
+    private final Consumer<String> onQuery;
+    private final Timer timer;
+    private String lastQuery = "";
+
+    public SearchDebouncer(JTextComponent field, Consumer<String> onQuery) {
+        this.field = field;
+        this.onQuery = onQuery;
+
+        timer = new Timer(DELAY_MS, e -> fire());
+        timer.setRepeats(false);
+
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            public void changedUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+
+            public void removeUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+
+            public void insertUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+        });
+    }
+
+    private void fire() {
+        String query = field.getText().trim();
+        // Typing and deleting back to the same text is not a new query
+        if (query.equals(lastQuery)) return;
+        lastQuery = query;
+        onQuery.accept(query);
+    }
+}
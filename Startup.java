@@ -0,0 +1,131 @@
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cold start pipeline and timing.
+ *
+ * start() kicks off, in parallel and off the EDT, everything the first screen
+ * waits for: font and icon loading, opening the pool's connections, and the
+ * queries behind the Products panel (the reference data Catalog and the
+ * first page of products). Meanwhile the frame is shown with a skeleton. When
+ * ProductPanel loads, take() hands it the prefetched result (waiting for it if
+ * it is still running) instead of querying again.
+ *
+ * Each step is timed from JVM start. When the first product page is on
+ * screen, interactive() prints the timings and appends them, off the EDT, as
+ * one line to cloudkitchen.startupLog (default startup-times.log), so
+ * time-to-interactive can be compared between releases.
+ */
+public class Startup {
+
+    public static final String PRODUCT_FIRST_PAGE = "product first page";
+
+    private static final String STARTUP_LOG = System.getProperty("cloudkitchen.startupLog", "startup-times.log");
+    private static final long JVM_START = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+    // Guarded by the class lock; phase -> ms since JVM start
+    private static final Map<String, Long> marks = new LinkedHashMap<>();
+    private static boolean reported = false;
+
+    private static final Map<String, CompletableFuture<?>> prefetched = new ConcurrentHashMap<>();
+
+    /** Start the parallel startup work; call from main before building the frame */
+    public static void start() {
+        track("fonts and icons", ResourceCache.warmUp());
+        track("connection pool", CompletableFuture.runAsync(() -> DBUtils.getPool().prefill()));
+        // Catalog keeps what it loads, so there is nothing to take(); just start it early
+        track("catalog", CompletableFuture.runAsync(() -> {
+            try {
+                Catalog.get();
+            } catch (SQLException ex) {
+                throw new CompletionException(ex);
+            }
+        }));
+        prefetch(PRODUCT_FIRST_PAGE, () -> ProductPanel.fetchProductPage(ProductPanel.ProductFilter.ALL, null));
+    }
+
+    /** Record that phase finished now; only the first mark of a phase counts */
+    public static synchronized void mark(String phase) {
+        marks.putIfAbsent(phase, System.currentTimeMillis() - JVM_START);
+    }
+
+    private static void track(String phase, CompletableFuture<?> work) {
+        work.whenComplete((result, ex) -> mark(ex == null ? phase : phase + " (failed)"));
+    }
+
+    private static void prefetch(String name, DataLoader.Query<?> query) {
+        CompletableFuture<Object> result = CompletableFuture.supplyAsync(() -> {
+            try {
+                return query.run();
+            } catch (SQLException ex) {
+                throw new CompletionException(ex);
+            }
+        });
+        track(name, result);
+        prefetched.put(name, result);
+    }
+
+    /**
+     * Runs on the loader thread: the result prefetched under name, or query's own
+     * result if there is none or the prefetch failed. A prefetch is used only once.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T take(String name, DataLoader.Query<T> query) throws SQLException {
+        CompletableFuture<?> result = prefetched.remove(name);
+        if (result != null) {
+            try {
+                return (T) result.join();
+            } catch (CompletionException ex) {
+                // Report the error from a fresh attempt rather than the prefetch's
+            }
+        }
+        return query.run();
+    }
+
+    /** The first screen is usable: report the startup timings, once */
+    public static void interactive() {
+        mark("interactive");
+        Map<String, Long> timings;
+        synchronized (Startup.class) {
+            if (reported) return;
+            reported = true;
+            timings = new LinkedHashMap<>(marks);
+        }
+
+        List<Map.Entry<String, Long>> ordered = new ArrayList<>(timings.entrySet());
+        ordered.sort(Map.Entry.comparingByValue());
+        StringBuilder line = new StringBuilder();
+        for (Map.Entry<String, Long> timing : ordered) {
+            if (line.length() > 0) line.append(", ");
+            line.append(timing.getKey()).append(' ').append(timing.getValue()).append(" ms");
+        }
+        System.out.println("Startup (since JVM start): " + line);
+
+        // Called on the EDT during the first paint; keep the file I/O off it
+        String entry = LocalDateTime.now() + " version=" + version() + " " + line;
+        CompletableFuture.runAsync(() -> {
+            try (PrintWriter out = new PrintWriter(new FileWriter(STARTUP_LOG, true))) {
+                out.println(entry);
+            } catch (IOException ex) {
+                System.err.println("Cannot write startup log " + STARTUP_LOG + ": " + ex.getMessage());
+            }
+        });
+    }
+
+    private static String version() {
+        Package pkg = Startup.class.getPackage();
+        String version = pkg != null ? pkg.getImplementationVersion() : null;
+        return version != null ? version : System.getProperty("cloudkitchen.version", "dev");
+    }
+}
@@ -0,0 +1,586 @@
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes to the StockMovement ledger and keeps the derived tables in sync.
+ *
+ * StockBalance holds the running on-hand quantity per (product, location), so
+ * screens read current stock in O(products) instead of summing the whole ledger.
+ * StockMovementMonthly holds per (product, location, supplier, month) totals
+ * that the reports read instead of raw movements. Sales totals come from the
+ * typed amount column of SALE movements.
+ * Every movement insert must go through recordMovement() on the caller's
+ * transaction so the ledger row and both derived updates commit together.
+ *
+ * OUT movements lock the product's StockBalance rows and refuse to take stock
+ * below zero (InsufficientStockException), so concurrent sales of the same
+ * product are serialized. Use inTransaction() to get deadlock retries.
+ * recordSales() is the batched form for bulk imports.
+ *
+ * Run "java StockLedger verify" to compare the derived tables against the
+ * ledger, or "java StockLedger rebuild" to recompute them from scratch.
+ * "java StockLedger stress <productId> [threads] [sales]" fires concurrent
+ * one-unit sales at a product and checks stock never goes negative; it writes
+ * real movements, so only run it against a scratch database.
+ */
+public class StockLedger {
+
+    // movement_subtype values
+    public static final String RESTOCK = "RESTOCK";
+    public static final String PRODUCT_RETURN = "PRODUCT_RETURN";
+    public static final String SUPPLIER_RETURN = "SUPPLIER_RETURN";
+    public static final String SALE = "SALE";
+
+    private static final String INSERT_MOVEMENT_SQL =
+            "INSERT INTO StockMovement (product_id, location_id, supplier_id, quantity, amount, " +
+            "movement_type, movement_subtype, movement_date, reason) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String APPLY_BALANCE_SQL =
+            "INSERT INTO StockBalance (product_id, location_id, on_hand, last_movement_id) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE on_hand = on_hand + VALUES(on_hand), " +
+            "last_movement_id = GREATEST(COALESCE(last_movement_id, 0), VALUES(last_movement_id))";
+
+    // supplier_id 0 stands for "no supplier" so it can be part of the primary key
+    private static final String APPLY_MONTHLY_SQL =
+            "INSERT INTO StockMovementMonthly (product_id, location_id, supplier_id, period_start, " +
+            "in_qty, out_qty, in_count, out_count, sales_amount, sale_days) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE in_qty = in_qty + VALUES(in_qty), out_qty = out_qty + VALUES(out_qty), " +
+            "in_count = in_count + VALUES(in_count), out_count = out_count + VALUES(out_count), " +
+            "sales_amount = sales_amount + VALUES(sales_amount), sale_days = sale_days + VALUES(sale_days)";
+
+    // A sale day is credited to the product's first OUT movement of that date, so that
+    // summing sale_days over a product's rows gives its number of distinct selling days
+    private static final String EARLIER_OUT_SAME_DAY_SQL =
+            "SELECT 1 FROM StockMovement WHERE product_id = ? AND movement_date = ? " +
+            "AND movement_type = 'OUT' AND movement_id < ? LIMIT 1";
+
+    private static final String MONTHLY_SELECT =
+            "SELECT sm.product_id, sm.location_id, COALESCE(sm.supplier_id, 0) AS supplier_id, " +
+            "DATE_SUB(sm.movement_date, INTERVAL DAYOFMONTH(sm.movement_date) - 1 DAY) AS period_start, " +
+            "SUM(CASE WHEN sm.movement_type = 'IN' THEN sm.quantity ELSE 0 END) AS in_qty, " +
+            "SUM(CASE WHEN sm.movement_type = 'OUT' THEN sm.quantity ELSE 0 END) AS out_qty, " +
+            "SUM(CASE WHEN sm.movement_type = 'IN' THEN 1 ELSE 0 END) AS in_count, " +
+            "SUM(CASE WHEN sm.movement_type = 'OUT' THEN 1 ELSE 0 END) AS out_count, " +
+            "SUM(CASE WHEN sm.movement_subtype = 'SALE' THEN COALESCE(sm.amount, 0) ELSE 0 END) AS sales_amount, " +
+            "COUNT(d.first_out_id) AS sale_days " +
+            "FROM StockMovement sm " +
+            "LEFT JOIN (SELECT MIN(movement_id) AS first_out_id FROM StockMovement " +
+            "      WHERE movement_type = 'OUT' GROUP BY product_id, movement_date) d " +
+            "ON d.first_out_id = sm.movement_id " +
+            "GROUP BY sm.product_id, sm.location_id, COALESCE(sm.supplier_id, 0), period_start";
+
+    private static final String REBUILD_MONTHLY_SQL =
+            "INSERT INTO StockMovementMonthly (product_id, location_id, supplier_id, period_start, " +
+            "in_qty, out_qty, in_count, out_count, sales_amount, sale_days) " + MONTHLY_SELECT;
+
+    private static final String VERIFY_MONTHLY_SQL =
+            "SELECT x.product_id, x.location_id, x.supplier_id, x.period_start " +
+            "FROM (" + MONTHLY_SELECT + ") x " +
+            "LEFT JOIN StockMovementMonthly r ON r.product_id = x.product_id AND r.location_id = x.location_id " +
+            "AND r.supplier_id = x.supplier_id AND r.period_start = x.period_start " +
+            "WHERE r.product_id IS NULL OR r.in_qty <> x.in_qty OR r.out_qty <> x.out_qty " +
+            "OR r.in_count <> x.in_count OR r.out_count <> x.out_count " +
+            "OR r.sales_amount <> x.sales_amount OR r.sale_days <> x.sale_days " +
+            "UNION ALL " +
+            "SELECT r.product_id, r.location_id, r.supplier_id, r.period_start " +
+            "FROM StockMovementMonthly r " +
+            "LEFT JOIN (" + MONTHLY_SELECT + ") x ON r.product_id = x.product_id AND r.location_id = x.location_id " +
+            "AND r.supplier_id = x.supplier_id AND r.period_start = x.period_start " +
+            "WHERE x.product_id IS NULL";
+
+    // Locks every balance row of the product (and the key range, if it has none yet)
+    private static final String LOCK_STOCK_SQL =
+            "SELECT COALESCE(SUM(on_hand), 0) AS on_hand FROM StockBalance WHERE product_id = ? FOR UPDATE";
+
+    // MySQL deadlock / lock wait timeout; the whole transaction can simply be run again
+    private static final int ER_LOCK_DEADLOCK = 1213;
+    private static final int ER_LOCK_WAIT_TIMEOUT = 1205;
+    private static final int MAX_ATTEMPTS = 3;
+
+    /** One SALE movement for recordSales() */
+    public static class Sale {
+        public final int productId;
+        public final int locationId;
+        public final BigDecimal qty;
+        public final BigDecimal amount;
+        public final Date date;
+
+        public Sale(int productId, int locationId, BigDecimal qty, BigDecimal amount, Date date) {
+            this.productId = productId;
+            this.locationId = locationId;
+            this.qty = qty;
+            this.amount = amount;
+            this.date = date;
+        }
+    }
+
+    /** Body of a transaction run by inTransaction() */
+    public interface Work<T> {
+        T run(Connection conn) throws SQLException;
+    }
+
+    private static final String CURRENT_STOCK_SQL =
+            "SELECT COALESCE(SUM(on_hand), 0) AS current_stock FROM StockBalance WHERE product_id = ?";
+
+    private static final String REBUILD_BALANCE_SQL =
+            "INSERT INTO StockBalance (product_id, location_id, on_hand, last_movement_id) " +
+            "SELECT product_id, location_id, " +
+            "SUM(CASE WHEN movement_type = 'IN' THEN quantity ELSE -quantity END), MAX(movement_id) " +
+            "FROM StockMovement GROUP BY product_id, location_id";
+
+    private static final String VERIFY_BALANCE_SQL =
+            "SELECT x.product_id, x.location_id, x.ledger_qty, b.on_hand " +
+            "FROM (SELECT product_id, location_id, " +
+            "      SUM(CASE WHEN movement_type = 'IN' THEN quantity ELSE -quantity END) AS ledger_qty " +
+            "      FROM StockMovement GROUP BY product_id, location_id) x " +
+            "LEFT JOIN StockBalance b ON b.product_id = x.product_id AND b.location_id = x.location_id " +
+            "WHERE b.on_hand IS NULL OR b.on_hand <> x.ledger_qty " +
+            "UNION ALL " +
+            "SELECT b.product_id, b.location_id, 0, b.on_hand FROM StockBalance b " +
+            "WHERE b.on_hand <> 0 AND NOT EXISTS (SELECT 1 FROM StockMovement sm " +
+            "      WHERE sm.product_id = b.product_id AND sm.location_id = b.location_id)";
+
+    /**
+     * Insert one movement and apply it to StockBalance on the given connection.
+     * subtype is one of RESTOCK, PRODUCT_RETURN, SUPPLIER_RETURN or SALE; amount is
+     * the sale value for SALE movements and null otherwise.
+     * The caller owns the transaction (autocommit off, commit/rollback).
+     * Returns the generated movement_id.
+     */
+    public static int recordMovement(Connection conn, int productId, int locationId, Integer supplierId,
+                                     BigDecimal qty, BigDecimal amount, String movementType, String subtype,
+                                     Date date, String reason) throws SQLException {
+        if ("OUT".equals(movementType)) {
+            // Check and decrement under the same lock so two terminals cannot both take the last units
+            try (PreparedStatement ps = conn.prepareStatement(LOCK_STOCK_SQL)) {
+                ps.setInt(1, productId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    BigDecimal onHand = rs.next() ? rs.getBigDecimal("on_hand") : BigDecimal.ZERO;
+                    if (onHand.compareTo(qty) < 0) {
+                        throw new InsufficientStockException(productId, onHand, qty);
+                    }
+                }
+            }
+        }
+
+        int movementId;
+        try (PreparedStatement ps = conn.prepareStatement(INSERT_MOVEMENT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            ps.setInt(1, productId);
+            ps.setInt(2, locationId);
+            if (supplierId != null) {
+                ps.setInt(3, supplierId);
+            } else {
+                ps.setNull(3, Types.INTEGER);
+            }
+            ps.setBigDecimal(4, qty);
+            ps.setBigDecimal(5, amount);
+            ps.setString(6, movementType);
+            ps.setString(7, subtype);
+            ps.setDate(8, date);
+            ps.setString(9, reason);
+            ps.executeUpdate();
+
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                if (!keys.next()) {
+                    throw new SQLException("Movement insert did not return a movement_id");
+                }
+                movementId = keys.getInt(1);
+            }
+        }
+
+        BigDecimal delta = "IN".equals(movementType) ? qty : qty.negate();
+        try (PreparedStatement ps = conn.prepareStatement(APPLY_BALANCE_SQL)) {
+            ps.setInt(1, productId);
+            ps.setInt(2, locationId);
+            ps.setBigDecimal(3, delta);
+            ps.setInt(4, movementId);
+            ps.executeUpdate();
+        }
+
+        applyMonthly(conn, movementId, productId, locationId, supplierId, qty, movementType,
+                SALE.equals(subtype) && amount != null ? amount : BigDecimal.ZERO, date);
+
+        return movementId;
+    }
+
+    private static void applyMonthly(Connection conn, int movementId, int productId, int locationId, Integer supplierId,
+                                     BigDecimal qty, String movementType, BigDecimal salesAmount, Date date) throws SQLException {
+        boolean in = "IN".equals(movementType);
+
+        int saleDays = 0;
+        if (!in) {
+            try (PreparedStatement ps = conn.prepareStatement(EARLIER_OUT_SAME_DAY_SQL)) {
+                ps.setInt(1, productId);
+                ps.setDate(2, date);
+                ps.setInt(3, movementId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    saleDays = rs.next() ? 0 : 1;
+                }
+            }
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(APPLY_MONTHLY_SQL)) {
+            ps.setInt(1, productId);
+            ps.setInt(2, locationId);
+            ps.setInt(3, supplierId != null ? supplierId : 0);
+            ps.setDate(4, Date.valueOf(date.toLocalDate().withDayOfMonth(1)));
+            ps.setBigDecimal(5, in ? qty : BigDecimal.ZERO);
+            ps.setBigDecimal(6, in ? BigDecimal.ZERO : qty);
+            ps.setInt(7, in ? 1 : 0);
+            ps.setInt(8, in ? 0 : 1);
+            ps.setBigDecimal(9, salesAmount);
+            ps.setInt(10, saleDays);
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Lock the StockBalance rows of the given products and return their current stock.
+     * Products are locked in id order so two bulk writers cannot deadlock on each other.
+     */
+    public static Map<Integer, BigDecimal> lockStock(Connection conn, Collection<Integer> productIds) throws SQLException {
+        Map<Integer, BigDecimal> stock = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(LOCK_STOCK_SQL)) {
+            for (int productId : new TreeSet<>(productIds)) {
+                ps.setInt(1, productId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    stock.put(productId, rs.next() ? rs.getBigDecimal("on_hand") : BigDecimal.ZERO);
+                }
+            }
+        }
+        return stock;
+    }
+
+    /**
+     * Batched recordMovement for many SALE movements: the ledger rows go in as one
+     * JDBC batch, and StockBalance / StockMovementMonthly get one upsert per affected
+     * row instead of one per sale. Throws InsufficientStockException, recording
+     * nothing, if any product's total would go below zero.
+     * The caller owns the transaction.
+     */
+    public static void recordSales(Connection conn, List<Sale> sales) throws SQLException {
+        if (sales.isEmpty()) return;
+
+        Map<Integer, BigDecimal> requested = new HashMap<>();
+        for (Sale sale : sales) {
+            requested.merge(sale.productId, sale.qty, BigDecimal::add);
+        }
+        Map<Integer, BigDecimal> available = lockStock(conn, requested.keySet());
+        for (Map.Entry<Integer, BigDecimal> entry : requested.entrySet()) {
+            BigDecimal onHand = available.get(entry.getKey());
+            if (onHand.compareTo(entry.getValue()) < 0) {
+                throw new InsufficientStockException(entry.getKey(), onHand, entry.getValue());
+            }
+        }
+
+        int[] movementIds = new int[sales.size()];
+        try (PreparedStatement ps = conn.prepareStatement(INSERT_MOVEMENT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (Sale sale : sales) {
+                ps.setInt(1, sale.productId);
+                ps.setInt(2, sale.locationId);
+                ps.setNull(3, Types.INTEGER);
+                ps.setBigDecimal(4, sale.qty);
+                ps.setBigDecimal(5, sale.amount);
+                ps.setString(6, "OUT");
+                ps.setString(7, SALE);
+                ps.setDate(8, sale.date);
+                ps.setString(9, "Sales");
+                ps.addBatch();
+            }
+            ps.executeBatch();
+
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                for (int i = 0; i < movementIds.length; i++) {
+                    if (!keys.next()) {
+                        throw new SQLException("Movement batch did not return a movement_id for every row");
+                    }
+                    movementIds[i] = keys.getInt(1);
+                }
+            }
+        }
+
+        // Sum the batch per balance row and per monthly rollup row
+        Map<List<Object>, BigDecimal> balanceDelta = new LinkedHashMap<>();
+        Map<List<Object>, Integer> lastMovement = new HashMap<>();
+        Map<List<Object>, MonthlyDelta> monthly = new LinkedHashMap<>();
+        Map<List<Object>, Integer> firstOfDay = new LinkedHashMap<>();
+        for (int i = 0; i < sales.size(); i++) {
+            Sale sale = sales.get(i);
+            List<Object> balanceKey = List.of(sale.productId, sale.locationId);
+            balanceDelta.merge(balanceKey, sale.qty.negate(), BigDecimal::add);
+            lastMovement.merge(balanceKey, movementIds[i], Math::max);
+
+            MonthlyDelta month = monthly.computeIfAbsent(
+                    List.of(sale.productId, sale.locationId, sale.date.toLocalDate().withDayOfMonth(1)), k -> new MonthlyDelta());
+            month.outQty = month.outQty.add(sale.qty);
+            month.outCount++;
+            month.salesAmount = month.salesAmount.add(sale.amount);
+
+            firstOfDay.putIfAbsent(List.of(sale.productId, sale.date.toLocalDate()), i);
+        }
+
+        // A product's first OUT of a day, here or already in the ledger, carries its sale day
+        try (PreparedStatement ps = conn.prepareStatement(EARLIER_OUT_SAME_DAY_SQL)) {
+            for (int i : firstOfDay.values()) {
+                Sale sale = sales.get(i);
+                ps.setInt(1, sale.productId);
+                ps.setDate(2, sale.date);
+                ps.setInt(3, movementIds[i]);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next()) {
+                        monthly.get(List.of(sale.productId, sale.locationId, sale.date.toLocalDate().withDayOfMonth(1))).saleDays++;
+                    }
+                }
+            }
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(APPLY_BALANCE_SQL)) {
+            for (Map.Entry<List<Object>, BigDecimal> entry : balanceDelta.entrySet()) {
+                ps.setInt(1, (Integer) entry.getKey().get(0));
+                ps.setInt(2, (Integer) entry.getKey().get(1));
+                ps.setBigDecimal(3, entry.getValue());
+                ps.setInt(4, lastMovement.get(entry.getKey()));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(APPLY_MONTHLY_SQL)) {
+            for (Map.Entry<List<Object>, MonthlyDelta> entry : monthly.entrySet()) {
+                MonthlyDelta month = entry.getValue();
+                ps.setInt(1, (Integer) entry.getKey().get(0));
+                ps.setInt(2, (Integer) entry.getKey().get(1));
+                ps.setInt(3, 0);
+                ps.setDate(4, Date.valueOf((java.time.LocalDate) entry.getKey().get(2)));
+                ps.setBigDecimal(5, BigDecimal.ZERO);
+                ps.setBigDecimal(6, month.outQty);
+                ps.setInt(7, 0);
+                ps.setInt(8, month.outCount);
+                ps.setBigDecimal(9, month.salesAmount);
+                ps.setInt(10, month.saleDays);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private static class MonthlyDelta {
+        BigDecimal outQty = BigDecimal.ZERO;
+        int outCount;
+        BigDecimal salesAmount = BigDecimal.ZERO;
+        int saleDays;
+    }
+
+    /**
+     * Run work in its own transaction on a pooled connection and commit it.
+     * On a deadlock or lock wait timeout the transaction is rolled back and
+     * retried (up to MAX_ATTEMPTS); any other error rolls back and is rethrown.
+     */
+    public static <T> T inTransaction(Work<T> work) throws SQLException {
+        for (int attempt = 1; ; attempt++) {
+            try (Connection conn = DBUtils.getConn()) {
+                conn.setAutoCommit(false);
+                try {
+                    T result = work.run(conn);
+                    conn.commit();
+                    return result;
+                } catch (SQLException ex) {
+                    conn.rollback();
+                    if (attempt >= MAX_ATTEMPTS || !isRetryable(ex)) {
+                        throw ex;
+                    }
+                } catch (RuntimeException ex) {
+                    conn.rollback();
+                    throw ex;
+                }
+            }
+
+            try {
+                Thread.sleep(50L * attempt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while retrying transaction", e);
+            }
+        }
+    }
+
+    private static boolean isRetryable(SQLException ex) {
+        return ex.getErrorCode() == ER_LOCK_DEADLOCK
+                || ex.getErrorCode() == ER_LOCK_WAIT_TIMEOUT
+                || "40001".equals(ex.getSQLState());
+    }
+
+    /** Current stock of a product across all locations, read from StockBalance */
+    public static BigDecimal getCurrentStock(Connection conn, int productId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(CURRENT_STOCK_SQL)) {
+            ps.setInt(1, productId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getBigDecimal("current_stock");
+                }
+            }
+        }
+        return BigDecimal.ZERO;
+    }
+
+    /** Recompute every StockBalance and StockMovementMonthly row from the StockMovement ledger in one transaction */
+    public static void rebuildBalances(Connection conn) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement st = conn.createStatement()) {
+            st.executeUpdate("DELETE FROM StockBalance");
+            st.executeUpdate(REBUILD_BALANCE_SQL);
+            st.executeUpdate("DELETE FROM StockMovementMonthly");
+            st.executeUpdate(REBUILD_MONTHLY_SQL);
+            conn.commit();
+        } catch (SQLException ex) {
+            conn.rollback();
+            throw ex;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /** List every balance or monthly rollup row that disagrees with the ledger; empty when in sync */
+    public static List<String> verifyBalances(Connection conn) throws SQLException {
+        List<String> mismatches = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(VERIFY_BALANCE_SQL);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                BigDecimal balance = rs.getBigDecimal("on_hand");
+                mismatches.add(String.format("product %d @ location %d: ledger %.2f, balance %s",
+                        rs.getInt("product_id"),
+                        rs.getInt("location_id"),
+                        rs.getBigDecimal("ledger_qty"),
+                        balance != null ? String.format("%.2f", balance) : "missing"));
+            }
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(VERIFY_MONTHLY_SQL);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                mismatches.add(String.format("monthly rollup product %d @ location %d, supplier %d, %s",
+                        rs.getInt("product_id"),
+                        rs.getInt("location_id"),
+                        rs.getInt("supplier_id"),
+                        rs.getDate("period_start")));
+            }
+        }
+        return mismatches;
+    }
+
+    /**
+     * Fire one-unit sales at a product from many threads at once. Passes when stock
+     * never drops below zero, no more sales succeed than there was stock, and the
+     * derived tables still match the ledger.
+     */
+    private static boolean stress(int productId, int threads, int sales) throws SQLException, InterruptedException {
+        int locationId;
+        BigDecimal initialStock;
+        try (Connection conn = DBUtils.getConn();
+             PreparedStatement ps = conn.prepareStatement(
+                     "SELECT location_id FROM StockBalance WHERE product_id = ? ORDER BY on_hand DESC LIMIT 1")) {
+            ps.setInt(1, productId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    System.err.println("Product " + productId + " has no stock to sell.");
+                    return false;
+                }
+                locationId = rs.getInt(1);
+            }
+            initialStock = getCurrentStock(conn, productId);
+        }
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        Date today = new Date(System.currentTimeMillis());
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < sales; i++) {
+            workers.execute(() -> {
+                try {
+                    inTransaction(conn -> recordMovement(conn, productId, locationId, null, BigDecimal.ONE, null,
+                            "OUT", SALE, today, "Stress test sale"));
+                    succeeded.incrementAndGet();
+                } catch (InsufficientStockException ex) {
+                    refused.incrementAndGet();
+                } catch (SQLException ex) {
+                    failed.incrementAndGet();
+                    System.err.println("Sale failed: " + ex.getMessage());
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.MINUTES);
+
+        BigDecimal finalStock;
+        List<String> mismatches;
+        try (Connection conn = DBUtils.getConn()) {
+            finalStock = getCurrentStock(conn, productId);
+            mismatches = verifyBalances(conn);
+        }
+
+        System.out.printf("Initial stock %.2f, %d sold, %d refused, %d failed, final stock %.2f%n",
+                initialStock, succeeded.get(), refused.get(), failed.get(), finalStock);
+
+        boolean ok = finalStock.signum() >= 0
+                && BigDecimal.valueOf(succeeded.get()).compareTo(initialStock) <= 0
+                && finalStock.compareTo(initialStock.subtract(BigDecimal.valueOf(succeeded.get()))) == 0
+                && mismatches.isEmpty();
+        mismatches.forEach(m -> System.out.println("  " + m));
+        System.out.println(ok ? "Stock stayed consistent." : "Stock check FAILED.");
+        return ok;
+    }
+
+    public static void main(String[] args) throws SQLException, InterruptedException {
+        String command = args.length > 0 ? args[0] : "verify";
+
+        try (Connection conn = DBUtils.getConn()) {
+            switch (command) {
+                case "rebuild" -> {
+                    rebuildBalances(conn);
+                    System.out.println("StockBalance and StockMovementMonthly rebuilt from StockMovement.");
+                }
+                case "verify" -> {
+                    List<String> mismatches = verifyBalances(conn);
+                    if (mismatches.isEmpty()) {
+                        System.out.println("StockBalance and StockMovementMonthly match StockMovement.");
+                    } else {
+                        System.out.println(mismatches.size() + " balance mismatch(es):");
+                        mismatches.forEach(m -> System.out.println("  " + m));
+                        System.exit(1);
+                    }
+                }
+                case "stress" -> {
+                    if (args.length < 2) {
+                        System.err.println("Usage: java StockLedger stress <productId> [threads] [sales]");
+                        System.exit(2);
+                    }
+                    int productId = Integer.parseInt(args[1]);
+                    int threads = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+                    int sales = args.length > 3 ? Integer.parseInt(args[3]) : 2000;
+                    if (!stress(productId, threads, sales)) {
+                        System.exit(1);
+                    }
+                }
+                default -> {
+                    System.err.println("Usage: java StockLedger [verify|rebuild|stress <productId> [threads] [sales]]");
+                    System.exit(2);
+                }
+            }
+        }
+    }
+}
@@ -6,6 +6,14 @@ import java.awt.event.MouseEvent;
 import java.sql.*;
 import java.math.BigDecimal;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * SupplierPanel with split view:
@@ -36,8 +44,24 @@ public class SupplierPanel extends JPanel {
     private JLabel lblTransactionCount;
     private JLabel lblTotalAmount;
 
+    // Transaction history paging: newest first, TRANSACTION_PAGE_SIZE cards at a time
+    private static final int TRANSACTION_PAGE_SIZE = 50;
+    private static final int TRANSACTION_CARD_HEIGHT = 80;
+    private static final int TRANSACTION_CARD_GAP = 8;
+    private int currentSupplierId = -1;
+    private TransactionData lastTransaction = null;
+    private boolean hasMoreTransactions = false;
+    private boolean loadingTransactions = false;
+    // loadSuppliers() is running; change events reload instead of patching what it is about to replace
+    private boolean loadingSuppliers = false;
+
     // Search field
     private final RoundedTextField tfSearch = new RoundedTextField(20, Color.WHITE);
+    private final IncrementalFilter<SupplierData> supplierFilter = new IncrementalFilter<>(SupplierPanel::matchesSearch);
+    // Card order, the order of Catalog.suppliers()
+    private static final Comparator<SupplierData> SUPPLIER_ORDER = Comparator
+            .comparing((SupplierData s) -> s.name, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+            .thenComparingInt(s -> s.id);
 
     // Form fields
     private final RoundedTextField tfName = new RoundedTextField(10, new Color(0xEBEBEB));
@@ -76,6 +100,7 @@ public class SupplierPanel extends JPanel {
         add(formPanel, BorderLayout.SOUTH);
 
         loadSuppliers();
+        subscribeToChanges();
     }
 
     private JPanel createSuppliersPanel() {
@@ -89,11 +114,7 @@ public class SupplierPanel extends JPanel {
 
         tfSearch.setPlaceholder("Search suppliers...");
         tfSearch.setPreferredSize(new Dimension(200, 40));
-        tfSearch.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
-            public void changedUpdate(javax.swing.event.DocumentEvent e) { applySearch(); }
-            public void removeUpdate(javax.swing.event.DocumentEvent e) { applySearch(); }
-            public void insertUpdate(javax.swing.event.DocumentEvent e) { applySearch(); }
-        });
+        new SearchDebouncer(tfSearch, query -> applySearch());
 
         JLabel lblTitle = new JLabel();
 
@@ -150,6 +171,7 @@ public class SupplierPanel extends JPanel {
         transactionsScrollPane = new JScrollPane(transactionsPanel);
         transactionsScrollPane.setBorder(null);
         transactionsScrollPane.getVerticalScrollBar().setUnitIncrement(16);
+        transactionsScrollPane.getVerticalScrollBar().getModel().addChangeListener(e -> loadMoreTransactionsIfNeeded());
 
         panel.add(transactionsScrollPane, BorderLayout.CENTER);
 
@@ -209,27 +231,13 @@ public class SupplierPanel extends JPanel {
     }
 
     private void applySearch() {
-        String searchText = tfSearch.getText().trim().toLowerCase();
-        Component[] components = suppliersPanel.getComponents();
+        Set<SupplierData> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+        matches.addAll(supplierFilter.filter(tfSearch.getText()));
 
-        for (Component comp : components) {
+        for (Component comp : suppliersPanel.getComponents()) {
             if (comp instanceof SupplierCard) {
                 SupplierCard card = (SupplierCard) comp;
-                SupplierData supplier = card.supplier;
-
-                boolean matches = true;
-                if (!searchText.isEmpty()) {
-                    String name = supplier.name != null ? supplier.name.toLowerCase() : "";
-                    String contactPerson = supplier.contactPerson != null ? supplier.contactPerson.toLowerCase() : "";
-                    String email = supplier.email != null ? supplier.email.toLowerCase() : "";
-                    String contactNo = supplier.contactNo != null ? supplier.contactNo.toLowerCase() : "";
-
-                    matches = name.contains(searchText) ||
-                            contactPerson.contains(searchText) ||
-                            email.contains(searchText) ||
-                            contactNo.contains(searchText);
-                }
-                card.setVisible(matches);
+                card.setVisible(matches.contains(card.supplier));
             }
         }
 
@@ -237,144 +245,227 @@ public class SupplierPanel extends JPanel {
         suppliersPanel.repaint();
     }
 
+    private static boolean matchesSearch(SupplierData supplier, String searchText) {
+        String name = supplier.name != null ? supplier.name.toLowerCase() : "";
+        String contactPerson = supplier.contactPerson != null ? supplier.contactPerson.toLowerCase() : "";
+        String email = supplier.email != null ? supplier.email.toLowerCase() : "";
+        String contactNo = supplier.contactNo != null ? supplier.contactNo.toLowerCase() : "";
+
+        return name.contains(searchText) ||
+                contactPerson.contains(searchText) ||
+                email.contains(searchText) ||
+                contactNo.contains(searchText);
+    }
+
+    /** Reload suppliers from the database; run by the main window's Refresh Data, after Catalog.reload() */
+    public void refresh() {
+        loadSuppliers();
+    }
+
     private void loadSuppliers() {
-        suppliersPanel.removeAll();
         selectedCard = null;
+        loadingSuppliers = true;
+        DataLoader.showLoading(suppliersPanel, lexendRegular);
 
-        String sql = "SELECT s.supplier_id, s.supplier_name, s.contact_person, s.contact_number, " +
-                "s.email, s.address, s.supplier_status, " +
-                "COUNT(sm.movement_id) AS transaction_count " +
-                "FROM Supplier s " +
-                "LEFT JOIN StockMovement sm ON s.supplier_id = sm.supplier_id " +
-                "AND sm.movement_type = 'IN' " +
-                "GROUP BY s.supplier_id " +
-                "ORDER BY s.supplier_name";
+        // Clear transactions panel
+        DataLoader.cancel(transactionsPanel);
+        transactionsPanel.removeAll();
+        showEmptyTransactionsMessage();
 
-        try (Connection conn = DBUtils.getConn();
-             PreparedStatement ps = conn.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
-
-            int count = 0;
-            while (rs.next()) {
-                SupplierData supplier = new SupplierData(
-                        rs.getInt("supplier_id"),
-                        rs.getString("supplier_name"),
-                        rs.getString("contact_person"),
-                        rs.getString("contact_number"),
-                        rs.getString("email"),
-                        rs.getString("address"),
-                        rs.getString("supplier_status"),
-                        rs.getInt("transaction_count")
-                );
-
-                SupplierCard card = new SupplierCard(supplier);
-                suppliersPanel.add(card);
-                suppliersPanel.add(Box.createRigidArea(new Dimension(0, 8)));
-                count++;
+        // Supplier details come from the catalog; only the purchase counts are queried
+        DataLoader.load(suppliersPanel, () -> {
+            Catalog.Snapshot catalog = Catalog.get();
+            Map<Integer, Integer> transactionCounts = new HashMap<>();
+            try (Connection conn = DBUtils.getConn();
+                 PreparedStatement ps = conn.prepareStatement(QueryRepository.SUPPLIER_TRANSACTION_COUNTS)) {
+                DataLoader.watch(ps);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        transactionCounts.put(rs.getInt("supplier_id"), rs.getInt("transaction_count"));
+                    }
+                }
             }
 
-            if (count == 0) {
-                JLabel noData = new JLabel("No suppliers found");
-                noData.setFont(lexendRegular.deriveFont(14f));
-                noData.setForeground(new Color(0x888888));
-                noData.setAlignmentX(Component.CENTER_ALIGNMENT);
-                suppliersPanel.add(Box.createVerticalGlue());
-                suppliersPanel.add(noData);
-                suppliersPanel.add(Box.createVerticalGlue());
+            List<SupplierData> suppliers = new ArrayList<>();
+            for (Catalog.Supplier supplier : catalog.suppliers()) {
+                suppliers.add(new SupplierData(
+                        supplier.id,
+                        supplier.name,
+                        supplier.contactPerson,
+                        supplier.contactNumber,
+                        supplier.email,
+                        supplier.address,
+                        supplier.status,
+                        transactionCounts.getOrDefault(supplier.id, 0)
+                ));
             }
-
-        } catch (SQLException ex) {
+            return suppliers;
+        }, suppliers -> {
+            loadingSuppliers = false;
+            showSuppliers(suppliers);
+        }, ex -> {
+            loadingSuppliers = false;
             DBUtils.showErr(ex);
+        });
+    }
+
+    private void showSuppliers(List<SupplierData> suppliers) {
+        suppliersPanel.removeAll();
+        selectedCard = null;
+        supplierFilter.setItems(suppliers);
+
+        for (SupplierData supplier : suppliers) {
+            SupplierCard card = new SupplierCard(supplier);
+            suppliersPanel.add(card);
+            suppliersPanel.add(Box.createRigidArea(new Dimension(0, 8)));
         }
 
-        suppliersPanel.revalidate();
-        suppliersPanel.repaint();
+        if (suppliers.isEmpty()) {
+            JLabel noData = new JLabel("No suppliers found");
+            noData.setFont(lexendRegular.deriveFont(14f));
+            noData.setForeground(new Color(0x888888));
+            noData.setAlignmentX(Component.CENTER_ALIGNMENT);
+            suppliersPanel.add(Box.createVerticalGlue());
+            suppliersPanel.add(noData);
+            suppliersPanel.add(Box.createVerticalGlue());
+        }
 
-        // Clear transactions panel
-        transactionsPanel.removeAll();
-        showEmptyTransactionsMessage();
+        // Keep whatever the user has typed applied to the reloaded list
+        applySearch();
     }
 
     private void loadTransactionsForSupplier(int supplierId, String supplierName) {
-        transactionsPanel.removeAll();
+        DataLoader.showLoading(transactionsPanel, lexendRegular);
+        currentSupplierId = supplierId;
+        lastTransaction = null;
+        hasMoreTransactions = false;
+        loadingTransactions = true;
+
+        DataLoader.load(transactionsPanel, () -> {
+            try (Connection conn = DBUtils.getConn()) {
+                TransactionSummary summary = fetchTransactionSummary(conn, supplierId);
+                return new TransactionPage(summary, fetchTransactionPage(conn, supplierId, null));
+            }
+        }, page -> {
+            loadingTransactions = false;
+            showTransactions(page, supplierName);
+        }, ex -> {
+            loadingTransactions = false;
+            DBUtils.showErr(ex);
+        });
+    }
 
-        String sql = "SELECT sm.movement_id, sm.movement_date, sm.quantity, sm.reason, " +
-                "p.product_name, p.unit_of_measure, l.location_name " +
-                "FROM StockMovement sm " +
-                "JOIN Product p ON sm.product_id = p.product_id " +
-                "LEFT JOIN StorageLocation l ON sm.location_id = l.location_id " +
-                "WHERE sm.supplier_id = ? AND sm.movement_type = 'IN' " +
-                "ORDER BY sm.movement_date DESC, sm.movement_id DESC";
+    private void loadMoreTransactionsIfNeeded() {
+        if (loadingTransactions || !hasMoreTransactions || lastTransaction == null) return;
 
-        int transactionCount = 0;
-        BigDecimal totalAmount = BigDecimal.ZERO;
+        BoundedRangeModel scroll = transactionsScrollPane.getVerticalScrollBar().getModel();
+        int remaining = scroll.getMaximum() - (scroll.getValue() + scroll.getExtent());
+        if (remaining > 3 * (TRANSACTION_CARD_HEIGHT + TRANSACTION_CARD_GAP)) return;
 
-        try (Connection conn = DBUtils.getConn();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        loadingTransactions = true;
+        int supplierId = currentSupplierId;
+        TransactionData after = lastTransaction;
+
+        DataLoader.load(transactionsPanel, () -> {
+            try (Connection conn = DBUtils.getConn()) {
+                return fetchTransactionPage(conn, supplierId, after);
+            }
+        }, rows -> {
+            loadingTransactions = false;
+            appendTransactions(takeTransactionPage(rows));
+            transactionsPanel.revalidate();
+            transactionsPanel.repaint();
+        }, ex -> {
+            loadingTransactions = false;
+            DBUtils.showErr(ex);
+        });
+    }
 
+    // Runs on the loader thread: count of every purchase, without loading the rows
+    private static TransactionSummary fetchTransactionSummary(Connection conn, int supplierId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(QueryRepository.SUPPLIER_TRANSACTION_SUMMARY)) {
+            DataLoader.watch(ps);
             ps.setInt(1, supplierId);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return new TransactionSummary(rs.getInt("transaction_count"));
+            }
+        }
+    }
+
+    // Runs on the loader thread: one page of purchases ordered by (date, id) descending, after the given row
+    private static List<TransactionData> fetchTransactionPage(Connection conn, int supplierId, TransactionData after) throws SQLException {
+        // Keyset pagination: continue after the last card already shown
+        String sql = after != null ? QueryRepository.SUPPLIER_TRANSACTIONS_AFTER : QueryRepository.SUPPLIER_TRANSACTIONS;
+
+        List<TransactionData> transactions = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            DataLoader.watch(ps);
+            int i = 1;
+            ps.setInt(i++, supplierId);
+            if (after != null) {
+                ps.setDate(i++, after.date);
+                ps.setDate(i++, after.date);
+                ps.setInt(i++, after.id);
+            }
+            ps.setInt(i, TRANSACTION_PAGE_SIZE + 1);
 
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    TransactionData transaction = new TransactionData(
+                    transactions.add(new TransactionData(
                             rs.getInt("movement_id"),
                             rs.getDate("movement_date"),
                             rs.getString("product_name"),
                             rs.getBigDecimal("quantity"),
                             rs.getString("unit_of_measure"),
                             rs.getString("location_name"),
-                            rs.getString("reason")
-                    );
-
-                    TransactionCard card = new TransactionCard(transaction);
-                    transactionsPanel.add(card);
-                    transactionsPanel.add(Box.createRigidArea(new Dimension(0, 8)));
+                            rs.getString("reason"),
+                            rs.getBigDecimal("amount")
+                    ));
+                }
+            }
+        }
+        return transactions;
+    }
 
-                    transactionCount++;
+    // Pages are fetched with one extra row so we know whether another page exists
+    private List<TransactionData> takeTransactionPage(List<TransactionData> rows) {
+        hasMoreTransactions = rows.size() > TRANSACTION_PAGE_SIZE;
+        return hasMoreTransactions ? rows.subList(0, TRANSACTION_PAGE_SIZE) : rows;
+    }
 
-                    // Extract amount from reason if available
-                    BigDecimal amount = extractAmount(transaction.reason);
-                    if (amount != null) {
-                        totalAmount = totalAmount.add(amount);
-                    }
-                }
+    private void showTransactions(TransactionPage page, String supplierName) {
+        transactionsPanel.removeAll();
 
-                lblTransactionCount.setText("Transactions: " + transactionCount);
+        List<TransactionData> transactions = takeTransactionPage(page.rows);
+        appendTransactions(transactions);
 
-                if (transactionCount == 0) {
-                    JLabel noData = new JLabel("No purchase transactions for " + supplierName);
-                    noData.setFont(lexendRegular.deriveFont(14f));
-                    noData.setForeground(new Color(0x888888));
-                    noData.setAlignmentX(Component.CENTER_ALIGNMENT);
-                    transactionsPanel.add(Box.createVerticalGlue());
-                    transactionsPanel.add(noData);
-                    transactionsPanel.add(Box.createVerticalGlue());
-                }
-            }
+        lblTransactionCount.setText("Transactions: " + page.summary.count);
 
-        } catch (SQLException ex) {
-            DBUtils.showErr(ex);
+        if (transactions.isEmpty()) {
+            JLabel noData = new JLabel("No purchase transactions for " + supplierName);
+            noData.setFont(lexendRegular.deriveFont(14f));
+            noData.setForeground(new Color(0x888888));
+            noData.setAlignmentX(Component.CENTER_ALIGNMENT);
+            transactionsPanel.add(Box.createVerticalGlue());
+            transactionsPanel.add(noData);
+            transactionsPanel.add(Box.createVerticalGlue());
         }
 
         transactionsPanel.revalidate();
         transactionsPanel.repaint();
+        transactionsScrollPane.getVerticalScrollBar().setValue(0);
     }
 
-    private BigDecimal extractAmount(String reason) {
-        // Try to extract amount from reason string
-        // Example: "Product Restock - Amount: 1500.00"
-        if (reason != null && reason.contains("Amount:")) {
-            try {
-                String[] parts = reason.split("Amount:");
-                if (parts.length > 1) {
-                    String amountStr = parts[1].trim().replaceAll("[^0-9.]", "");
-                    return new BigDecimal(amountStr);
-                }
-            } catch (Exception e) {
-                // Ignore parsing errors
-            }
+    private void appendTransactions(List<TransactionData> transactions) {
+        for (TransactionData transaction : transactions) {
+            TransactionCard card = new TransactionCard(transaction);
+            transactionsPanel.add(card);
+            transactionsPanel.add(Box.createRigidArea(new Dimension(0, TRANSACTION_CARD_GAP)));
+        }
+        if (!transactions.isEmpty()) {
+            lastTransaction = transactions.get(transactions.size() - 1);
         }
-        return null;
     }
 
     private void showEmptyTransactionsMessage() {
@@ -386,6 +477,10 @@ public class SupplierPanel extends JPanel {
         transactionsPanel.add(emptyMsg);
         transactionsPanel.add(Box.createVerticalGlue());
         lblTransactionCount.setText("Transactions: 0");
+        currentSupplierId = -1;
+        lastTransaction = null;
+        hasMoreTransactions = false;
+        loadingTransactions = false;
         transactionsPanel.revalidate();
         transactionsPanel.repaint();
     }
@@ -426,7 +521,7 @@ public class SupplierPanel extends JPanel {
         String sql = "INSERT INTO Supplier (supplier_name, contact_person, contact_number, email, address, supplier_status) VALUES (?,?,?,?,?,?)";
 
         try (Connection conn = DBUtils.getConn();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             ps.setString(1, tfName.getText().trim());
             ps.setString(2, tfContactPerson.getText().trim());
@@ -436,8 +531,9 @@ public class SupplierPanel extends JPanel {
             ps.setString(6, (String) cbStatus.getSelectedItem());
 
             ps.executeUpdate();
+            int id = DBUtils.generatedKey(ps);
+            ChangeBus.publish(new ChangeBus.SupplierChanged(ChangeBus.Kind.INSERTED, id, Catalog.supplierChanged(conn, id)));
             JOptionPane.showMessageDialog(this, "Supplier added successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-            loadSuppliers();
             clearForm();
 
         } catch (SQLException ex) {
@@ -476,8 +572,8 @@ public class SupplierPanel extends JPanel {
             ps.setInt(7, id);
 
             ps.executeUpdate();
+            ChangeBus.publish(new ChangeBus.SupplierChanged(ChangeBus.Kind.UPDATED, id, Catalog.supplierChanged(conn, id)));
             JOptionPane.showMessageDialog(this, "Supplier updated successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-            loadSuppliers();
 
         } catch (SQLException ex) {
             DBUtils.showErr(ex);
@@ -507,8 +603,8 @@ public class SupplierPanel extends JPanel {
 
             ps.setInt(1, id);
             ps.executeUpdate();
+            ChangeBus.publish(new ChangeBus.SupplierChanged(ChangeBus.Kind.DELETED, id, Catalog.supplierChanged(conn, id)));
             JOptionPane.showMessageDialog(this, "Supplier deleted successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-            loadSuppliers();
             clearForm();
 
         } catch (SQLException ex) {
@@ -516,6 +612,139 @@ public class SupplierPanel extends JPanel {
         }
     }
 
+    // ===== CHANGE EVENTS =====
+    // Supplier edits and new purchases update single cards instead of reloading the list
+    private void subscribeToChanges() {
+        ChangeBus.subscribe(ChangeBus.SupplierChanged.class, this::applySupplierChange);
+        ChangeBus.subscribe(ChangeBus.MovementsInserted.class, this::applyPurchases);
+        ChangeBus.subscribe(ChangeBus.Reload.class, change -> {
+            if (change.table == DataVersion.Table.SUPPLIER) {
+                refresh();
+            }
+        });
+    }
+
+    private void applySupplierChange(ChangeBus.SupplierChanged change) {
+        if (loadingSuppliers) {
+            // The running load may have read the catalog before this change
+            loadSuppliers();
+            return;
+        }
+        SupplierCard old = findCard(change.id);
+        if (change.after == null) {
+            if (old != null) {
+                if (old == selectedCard) {
+                    DataLoader.cancel(transactionsPanel);
+                    transactionsPanel.removeAll();
+                    showEmptyTransactionsMessage();
+                }
+                removeCard(old);
+            }
+        } else {
+            Catalog.Supplier supplier = change.after;
+            placeCard(new SupplierData(supplier.id, supplier.name, supplier.contactPerson, supplier.contactNumber,
+                    supplier.email, supplier.address, supplier.status,
+                    old != null ? old.supplier.transactionCount : 0), old);
+        }
+        refreshSearch();
+    }
+
+    // Restocks are the purchases counted on the cards
+    private void applyPurchases(ChangeBus.MovementsInserted change) {
+        Map<Integer, Integer> purchases = new HashMap<>();
+        for (ChangeBus.Movement movement : change.movements) {
+            if ("IN".equals(movement.movementType) && movement.supplierId > 0) {
+                purchases.merge(movement.supplierId, 1, Integer::sum);
+            }
+        }
+        if (purchases.isEmpty()) return;
+        if (loadingSuppliers) {
+            // The running load may have counted purchases before these
+            loadSuppliers();
+            return;
+        }
+
+        for (Map.Entry<Integer, Integer> entry : purchases.entrySet()) {
+            SupplierCard old = findCard(entry.getKey());
+            if (old == null) continue;
+            SupplierData supplier = old.supplier;
+            placeCard(new SupplierData(supplier.id, supplier.name, supplier.contactPerson, supplier.contactNo,
+                    supplier.email, supplier.address, supplier.status,
+                    supplier.transactionCount + entry.getValue()), old);
+            if (selectedCard != null && selectedCard.supplier.id == supplier.id) {
+                loadTransactionsForSupplier(supplier.id, supplier.name);
+            }
+        }
+        refreshSearch();
+    }
+
+    private SupplierCard findCard(int supplierId) {
+        for (SupplierCard card : cards()) {
+            if (card.supplier.id == supplierId) return card;
+        }
+        return null;
+    }
+
+    private List<SupplierCard> cards() {
+        List<SupplierCard> cards = new ArrayList<>();
+        for (Component comp : suppliersPanel.getComponents()) {
+            if (comp instanceof SupplierCard) {
+                cards.add((SupplierCard) comp);
+            }
+        }
+        return cards;
+    }
+
+    // Add a card for supplier in name order, in place of old if given; a selected card stays selected
+    private void placeCard(SupplierData supplier, SupplierCard old) {
+        boolean selected = old != null && old == selectedCard;
+        if (old != null) {
+            removeCard(old);
+        }
+        if (cards().isEmpty()) {
+            // Drop the "No suppliers found" message
+            suppliersPanel.removeAll();
+        }
+
+        SupplierCard card = new SupplierCard(supplier);
+        int index = 0;
+        for (SupplierCard other : cards()) {
+            if (SUPPLIER_ORDER.compare(other.supplier, supplier) < 0) {
+                index = suppliersPanel.getComponentZOrder(other) + 2;
+            }
+        }
+        suppliersPanel.add(card, index);
+        suppliersPanel.add(Box.createRigidArea(new Dimension(0, 8)), index + 1);
+        if (selected) {
+            card.setSelected(true);
+            selectedCard = card;
+        }
+    }
+
+    // Remove a card and the gap after it
+    private void removeCard(SupplierCard card) {
+        int index = suppliersPanel.getComponentZOrder(card);
+        suppliersPanel.remove(index + 1);
+        suppliersPanel.remove(index);
+        if (card == selectedCard) {
+            selectedCard = null;
+        }
+    }
+
+    // Search the cards as they are now, or show the empty message if none are left
+    private void refreshSearch() {
+        List<SupplierData> suppliers = new ArrayList<>();
+        for (SupplierCard card : cards()) {
+            suppliers.add(card.supplier);
+        }
+        if (suppliers.isEmpty()) {
+            showSuppliers(suppliers);
+            return;
+        }
+        supplierFilter.setItems(suppliers);
+        applySearch();
+    }
+
     // ===== SUPPLIER CARD =====
     private class SupplierCard extends JPanel {
         private final SupplierData supplier;
@@ -617,6 +846,8 @@ public class SupplierPanel extends JPanel {
                         setSelected(false);
                         selectedCard = null;
                         clearForm();
+                        DataLoader.cancel(transactionsPanel);
+                        transactionsPanel.removeAll();
                         showEmptyTransactionsMessage();
                     } else {
                         if (selectedCard != null) {
@@ -678,7 +909,7 @@ public class SupplierPanel extends JPanel {
             setLayout(new BorderLayout(10, 8));
             setBackground(CARD_BG);
             setBorder(new EmptyBorder(12, 15, 12, 15));
-            setMaximumSize(new Dimension(Integer.MAX_VALUE, 80));
+            setMaximumSize(new Dimension(Integer.MAX_VALUE, TRANSACTION_CARD_HEIGHT));
             setOpaque(false);
 
             // Left: Date icon and date
@@ -781,9 +1012,10 @@ public class SupplierPanel extends JPanel {
         String uom;
         String locationName;
         String reason;
+        BigDecimal amount;
 
         public TransactionData(int id, Date date, String productName, BigDecimal quantity,
-                               String uom, String locationName, String reason) {
+                               String uom, String locationName, String reason, BigDecimal amount) {
             this.id = id;
             this.date = date;
             this.productName = productName;
@@ -791,6 +1023,25 @@ public class SupplierPanel extends JPanel {
             this.uom = uom;
             this.locationName = locationName;
             this.reason = reason;
+            this.amount = amount;
+        }
+    }
+
+    private static class TransactionSummary {
+        final int count;
+
+        TransactionSummary(int count) {
+            this.count = count;
+        }
+    }
+
+    private static class TransactionPage {
+        final TransactionSummary summary;
+        final List<TransactionData> rows;
+
+        TransactionPage(TransactionSummary summary, List<TransactionData> rows) {
+            this.summary = summary;
+            this.rows = rows;
         }
     }
 
@@ -0,0 +1,39 @@
+-- One-off migration for databases created before StockMovement had typed
+-- amount / movement_subtype columns. Safe to run once on an existing
+-- CloudKitchenInventory_db; fresh installs get the columns from stockinvdb.sql.
+--
+-- Run after migrate_movement_rollup.sql: the rebuild in step 4 fills
+-- StockBalance and StockMovementMonthly, so both must exist.
+--
+-- Sales used to be stored as reason = 'Sales - Amount: 1250.00' and the
+-- movement kind was only recoverable from the reason prefix.
+
+USE CloudKitchenInventory_db;
+
+-- 1. Add the typed columns
+ALTER TABLE StockMovement
+    ADD COLUMN amount DECIMAL(12,2) AFTER quantity,
+    ADD COLUMN movement_subtype ENUM('RESTOCK','PRODUCT_RETURN','SUPPLIER_RETURN','SALE','OTHER')
+        NOT NULL DEFAULT 'OTHER' AFTER movement_type;
+
+-- 2. Backfill them from the reason text
+UPDATE StockMovement
+SET movement_subtype = CASE
+        WHEN reason LIKE 'Sales%' THEN 'SALE'
+        WHEN reason LIKE 'Supplier Return%' THEN 'SUPPLIER_RETURN'
+        WHEN reason LIKE 'Product Return%' THEN 'PRODUCT_RETURN'
+        WHEN reason LIKE 'Product Restock%' THEN 'RESTOCK'
+        ELSE 'OTHER'
+    END,
+    amount = CASE
+        WHEN reason LIKE 'Sales%' AND TRIM(SUBSTRING_INDEX(reason, 'Amount:', -1)) REGEXP '^[0-9]+(\\.[0-9]+)?$'
+        THEN CAST(TRIM(SUBSTRING_INDEX(reason, 'Amount:', -1)) AS DECIMAL(12,2))
+    END;
+
+-- 3. Check: sales whose amount could not be parsed (fix by hand if any are listed)
+SELECT movement_id, movement_date, reason
+FROM StockMovement
+WHERE movement_subtype = 'SALE' AND amount IS NULL;
+
+-- 4. Recompute the monthly rollups' sales_amount from the new column:
+--    java StockLedger rebuild
@@ -0,0 +1,33 @@
+-- One-off migration for databases created before the reports read the monthly
+-- rollup and ProductPanel paged products by name. Safe to run once on an
+-- existing CloudKitchenInventory_db; fresh installs get both from stockinvdb.sql.
+--
+-- Run after migrate_report_indexes.sql and before migrate_movement_amount.sql.
+-- The rollup is filled by "java StockLedger rebuild", the last step of
+-- migrate_movement_amount.sql: it needs that script's amount column.
+
+USE CloudKitchenInventory_db;
+
+-- 1. Monthly movement totals per product, location and supplier (0 = no supplier),
+--    maintained by every movement insert and read by the reports.
+--    sale_days: distinct days with an OUT movement, credited to the product's first OUT of the day
+CREATE TABLE StockMovementMonthly (
+    product_id INT NOT NULL,
+    location_id INT NOT NULL,
+    supplier_id INT NOT NULL DEFAULT 0,
+    period_start DATE NOT NULL, -- first day of the month
+    in_qty DECIMAL(14,2) NOT NULL DEFAULT 0,
+    out_qty DECIMAL(14,2) NOT NULL DEFAULT 0,
+    in_count INT NOT NULL DEFAULT 0,
+    out_count INT NOT NULL DEFAULT 0,
+    sales_amount DECIMAL(14,2) NOT NULL DEFAULT 0,
+    sale_days INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (product_id, location_id, supplier_id, period_start),
+    INDEX idx_monthly_period (period_start, product_id),
+    INDEX idx_monthly_supplier_period (supplier_id, period_start),
+    FOREIGN KEY (product_id) REFERENCES Product(product_id),
+    FOREIGN KEY (location_id) REFERENCES StorageLocation(location_id)
+);
+
+-- 2. ProductPanel keyset paging on (product_name, product_id)
+ALTER TABLE Product ADD INDEX idx_product_name (product_name);
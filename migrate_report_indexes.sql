@@ -0,0 +1,14 @@
+-- One-off migration for databases created before the report indexes. Safe to
+-- run once on an existing CloudKitchenInventory_db; fresh installs get the
+-- indexes from stockinvdb.sql.
+--
+-- Run after migrate_stock_balance.sql and before
+-- migrate_supplier_history_index.sql, which replaces the supplier index.
+-- Each index includes quantity so the report queries (see ReportQueries) are
+-- answered from the index without touching the table rows.
+
+USE CloudKitchenInventory_db;
+
+ALTER TABLE StockMovement ADD INDEX idx_movement_product_date (product_id, movement_date, movement_type, quantity);
+ALTER TABLE StockMovement ADD INDEX idx_movement_supplier_type_date (supplier_id, movement_type, movement_date, quantity);
+ALTER TABLE StockMovement ADD INDEX idx_movement_date_type (movement_date, movement_type, product_id, quantity);
@@ -0,0 +1,30 @@
+-- One-off migration for databases created before current stock was kept in
+-- StockBalance. Safe to run once on an existing CloudKitchenInventory_db;
+-- fresh installs get the table from stockinvdb.sql.
+--
+-- Run this first: every later migrate_*.sql script assumes it has been run.
+-- Every stock read (product list, movement forms, stock checks) goes through
+-- StockBalance, so the app shows no stock until it exists and is filled.
+
+USE CloudKitchenInventory_db;
+
+-- 1. Current stock per product and location, maintained by every movement insert
+CREATE TABLE StockBalance (
+    product_id INT NOT NULL,
+    location_id INT NOT NULL,
+    on_hand DECIMAL(12,2) NOT NULL DEFAULT 0,
+    last_movement_id INT,
+    PRIMARY KEY (product_id, location_id),
+    FOREIGN KEY (product_id) REFERENCES Product(product_id),
+    FOREIGN KEY (location_id) REFERENCES StorageLocation(location_id)
+);
+
+-- 2. Fill it from the ledger (the same statement "java StockLedger rebuild" runs)
+INSERT INTO StockBalance (product_id, location_id, on_hand, last_movement_id)
+SELECT product_id, location_id,
+       SUM(CASE WHEN movement_type = 'IN' THEN quantity ELSE -quantity END), MAX(movement_id)
+FROM StockMovement
+GROUP BY product_id, location_id;
+
+-- 3. Once the remaining migrate_*.sql scripts have run, check it with:
+--    java StockLedger verify
@@ -0,0 +1,15 @@
+-- One-off migration for databases created before SupplierPanel paged the
+-- supplier transaction history. Safe to run once on an existing
+-- CloudKitchenInventory_db; fresh installs get the index from stockinvdb.sql.
+--
+-- Run after migrate_report_indexes.sql, which creates the index replaced here.
+--
+-- The history is read newest first in pages keyed on (movement_date,
+-- movement_id), so the supplier index needs movement_id right after the date
+-- to return each page in order without sorting the supplier's whole history.
+
+USE CloudKitchenInventory_db;
+
+ALTER TABLE StockMovement
+    DROP INDEX idx_movement_supplier_type_date,
+    ADD INDEX idx_movement_supplier_type_date (supplier_id, movement_type, movement_date, movement_id, quantity);
@@ -3,6 +3,8 @@ CREATE DATABASE IF NOT EXISTS CloudKitchenInventory_db;
 USE CloudKitchenInventory_db;
 
 -- 2. Drop tables if they exist
+DROP TABLE IF EXISTS StockMovementMonthly;
+DROP TABLE IF EXISTS StockBalance;
 DROP TABLE IF EXISTS StockMovement;
 DROP TABLE IF EXISTS Product;
 DROP TABLE IF EXISTS Supplier;
@@ -41,6 +43,7 @@ CREATE TABLE Product (
     supplier_id INT,
     location_id INT,
     product_status VARCHAR(30) DEFAULT 'Active',
+    INDEX idx_product_name (product_name), -- ProductPanel keyset paging on (product_name, product_id)
     FOREIGN KEY (supplier_id) REFERENCES Supplier(supplier_id),
     FOREIGN KEY (location_id) REFERENCES StorageLocation(location_id)
 );
@@ -52,14 +55,56 @@ CREATE TABLE StockMovement (
     location_id INT NOT NULL,
     supplier_id INT,
     quantity DECIMAL(10,2) NOT NULL,
+    amount DECIMAL(12,2), -- sale value, set for SALE movements only
     movement_type ENUM('IN','OUT') NOT NULL,
+    movement_subtype ENUM('RESTOCK','PRODUCT_RETURN','SUPPLIER_RETURN','SALE','OTHER') NOT NULL DEFAULT 'OTHER',
     movement_date DATE NOT NULL,
     reason VARCHAR(255),
+    -- Report indexes (see ReportQueries): each includes quantity so the reports
+    -- are answered from the index without touching the table rows
+    INDEX idx_movement_product_date (product_id, movement_date, movement_type, quantity),
+    -- movement_id follows the date so SupplierPanel can page a supplier's history
+    -- newest first straight off the index
+    INDEX idx_movement_supplier_type_date (supplier_id, movement_type, movement_date, movement_id, quantity),
+    INDEX idx_movement_date_type (movement_date, movement_type, product_id, quantity),
     FOREIGN KEY (product_id) REFERENCES Product(product_id),
     FOREIGN KEY (location_id) REFERENCES StorageLocation(location_id),
     FOREIGN KEY (supplier_id) REFERENCES Supplier(supplier_id)
 );
 
+-- Current stock per product and location, maintained by every movement insert
+-- (see StockLedger.recordMovement; rebuild/verify with "java StockLedger rebuild|verify")
+CREATE TABLE StockBalance (
+    product_id INT NOT NULL,
+    location_id INT NOT NULL,
+    on_hand DECIMAL(12,2) NOT NULL DEFAULT 0,
+    last_movement_id INT,
+    PRIMARY KEY (product_id, location_id),
+    FOREIGN KEY (product_id) REFERENCES Product(product_id),
+    FOREIGN KEY (location_id) REFERENCES StorageLocation(location_id)
+);
+
+-- Monthly movement totals per product, location and supplier (0 = no supplier),
+-- maintained by every movement insert and read by the reports.
+-- sale_days: distinct days with an OUT movement, credited to the product's first OUT of the day
+CREATE TABLE StockMovementMonthly (
+    product_id INT NOT NULL,
+    location_id INT NOT NULL,
+    supplier_id INT NOT NULL DEFAULT 0,
+    period_start DATE NOT NULL, -- first day of the month
+    in_qty DECIMAL(14,2) NOT NULL DEFAULT 0,
+    out_qty DECIMAL(14,2) NOT NULL DEFAULT 0,
+    in_count INT NOT NULL DEFAULT 0,
+    out_count INT NOT NULL DEFAULT 0,
+    sales_amount DECIMAL(14,2) NOT NULL DEFAULT 0,
+    sale_days INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (product_id, location_id, supplier_id, period_start),
+    INDEX idx_monthly_period (period_start, product_id),
+    INDEX idx_monthly_supplier_period (supplier_id, period_start),
+    FOREIGN KEY (product_id) REFERENCES Product(product_id),
+    FOREIGN KEY (location_id) REFERENCES StorageLocation(location_id)
+);
+
 -- 4. Insert sample data
 
 -- StorageLocation
@@ -348,3 +393,43 @@ VALUES
 (3, 2, NULL, 38, 'OUT', '2025-11-12', 'Sales - Amount: 380.00'),
 (4, 4, NULL, 95, 'OUT', '2025-11-15', 'Sales - Amount: 475.00'),
 (6, 2, NULL, 6, 'OUT', '2025-11-18', 'Sales - Amount: 1800.00');
+
+-- 5. Derive movement subtype and sales amount from the sample reasons
+--    (same backfill as migrate_movement_amount.sql)
+UPDATE StockMovement
+SET movement_subtype = CASE
+        WHEN reason LIKE 'Sales%' THEN 'SALE'
+        WHEN reason LIKE 'Supplier Return%' THEN 'SUPPLIER_RETURN'
+        WHEN reason LIKE 'Product Return%' THEN 'PRODUCT_RETURN'
+        WHEN reason LIKE 'Product Restock%' THEN 'RESTOCK'
+        ELSE 'OTHER'
+    END,
+    amount = CASE
+        WHEN reason LIKE 'Sales%' AND TRIM(SUBSTRING_INDEX(reason, 'Amount:', -1)) REGEXP '^[0-9]+(\\.[0-9]+)?$'
+        THEN CAST(TRIM(SUBSTRING_INDEX(reason, 'Amount:', -1)) AS DECIMAL(12,2))
+    END;
+
+-- 6. Build stock balances from the sample ledger
+INSERT INTO StockBalance (product_id, location_id, on_hand, last_movement_id)
+SELECT product_id, location_id,
+       SUM(CASE WHEN movement_type = 'IN' THEN quantity ELSE -quantity END),
+       MAX(movement_id)
+FROM StockMovement
+GROUP BY product_id, location_id;
+
+-- 7. Build monthly rollups from the sample ledger
+INSERT INTO StockMovementMonthly (product_id, location_id, supplier_id, period_start,
+                                  in_qty, out_qty, in_count, out_count, sales_amount, sale_days)
+SELECT sm.product_id, sm.location_id, COALESCE(sm.supplier_id, 0) AS supplier_id,
+       DATE_SUB(sm.movement_date, INTERVAL DAYOFMONTH(sm.movement_date) - 1 DAY) AS period_start,
+       SUM(CASE WHEN sm.movement_type = 'IN' THEN sm.quantity ELSE 0 END),
+       SUM(CASE WHEN sm.movement_type = 'OUT' THEN sm.quantity ELSE 0 END),
+       SUM(CASE WHEN sm.movement_type = 'IN' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN sm.movement_type = 'OUT' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN sm.movement_subtype = 'SALE' THEN COALESCE(sm.amount, 0) ELSE 0 END),
+       COUNT(d.first_out_id)
+FROM StockMovement sm
+LEFT JOIN (SELECT MIN(movement_id) AS first_out_id FROM StockMovement
+           WHERE movement_type = 'OUT' GROUP BY product_id, movement_date) d
+       ON d.first_out_id = sm.movement_id
+GROUP BY sm.product_id, sm.location_id, COALESCE(sm.supplier_id, 0), period_start;